@@ -0,0 +1,140 @@
+-- Latency of the recipe search substring filters with and without the pg_trgm GIN indexes
+-- (see src/main/resources/db/migration/V1__baseline_schema.sql) at 10k, 100k and 1M instructions.
+--
+-- Usage (against the compose database, needs the pg_trgm extension):
+--   psql -h localhost -p 5332 -U myuser -d mydatabase -f scripts/benchmark/trigram-search.sql
+--
+-- Everything happens in a throwaway "trigram_bench" schema that is dropped at the end.
+-- Each query is run once to warm up, then 7 times; the median is reported in milliseconds.
+-- The queries have the same shape as RecipeRepository.findRecipesWithFilters.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+DROP SCHEMA IF EXISTS trigram_bench CASCADE;
+CREATE SCHEMA trigram_bench;
+
+CREATE TABLE trigram_bench.recipes (
+    id UUID PRIMARY KEY,
+    created_at TIMESTAMPTZ NOT NULL
+);
+
+CREATE TABLE trigram_bench.ingredients (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE trigram_bench.instructions (
+    id UUID PRIMARY KEY,
+    recipe_id UUID NOT NULL,
+    step_number INTEGER NOT NULL,
+    content TEXT,
+    UNIQUE (recipe_id, step_number)
+);
+
+CREATE TABLE trigram_bench.results (
+    instructions INTEGER,
+    query TEXT,
+    matches BIGINT,
+    like_seq_scan_ms NUMERIC(10, 2),
+    trigram_index_ms NUMERIC(10, 2)
+);
+
+-- Median execution time of a query, in milliseconds
+CREATE FUNCTION trigram_bench.time_query(query TEXT, runs INT DEFAULT 7) RETURNS NUMERIC
+LANGUAGE plpgsql AS $$
+DECLARE
+    started TIMESTAMPTZ;
+    timings NUMERIC[] := '{}';
+BEGIN
+    EXECUTE query;
+    FOR i IN 1..runs LOOP
+        started := clock_timestamp();
+        EXECUTE query;
+        timings := timings || (extract(EPOCH FROM clock_timestamp() - started) * 1000)::NUMERIC;
+    END LOOP;
+    RETURN (SELECT percentile_cont(0.5) WITHIN GROUP (ORDER BY t) FROM unnest(timings) t);
+END $$;
+
+-- Sentence of random cooking words; "saffron" shows up in roughly 0.1% of them
+CREATE FUNCTION trigram_bench.sentence(seed INT) RETURNS TEXT
+LANGUAGE sql VOLATILE AS $$
+    SELECT array_to_string(ARRAY(
+        SELECT (ARRAY['chop', 'the', 'onion', 'garlic', 'stir', 'simmer', 'until', 'golden', 'add',
+                      'tomato', 'pepper', 'salt', 'oil', 'pan', 'heat', 'minutes', 'boil', 'water',
+                      'rice', 'season', 'taste', 'slice', 'dice', 'mix', 'bowl', 'bake', 'oven',
+                      'degrees', 'serve', 'warm', 'fold', 'butter', 'flour', 'whisk', 'eggs'])[1 + floor(random() * 35)::INT]
+        FROM generate_series(1, 10 + seed % 3)
+    ), ' ') || CASE WHEN random() < 0.001 THEN ' with a pinch of saffron' ELSE '' END
+$$;
+
+DO $$
+DECLARE
+    instruction_count INT;
+    recipe_count INT;
+    queries TEXT[] := ARRAY[
+        -- Instruction content filter (EXISTS subquery), rare and common term
+        $q$SELECT r.id FROM trigram_bench.recipes r
+           WHERE EXISTS (SELECT 1 FROM trigram_bench.instructions inst
+                         WHERE inst.recipe_id = r.id AND inst.content LIKE '%saffron%')
+           ORDER BY r.created_at DESC, r.id DESC LIMIT 21$q$,
+        $q$SELECT r.id FROM trigram_bench.recipes r
+           WHERE EXISTS (SELECT 1 FROM trigram_bench.instructions inst
+                         WHERE inst.recipe_id = r.id AND inst.content LIKE '%golden butter%')
+           ORDER BY r.created_at DESC, r.id DESC LIMIT 21$q$,
+        -- Ingredient name lookup, as done by the include/exclude filters
+        $q$SELECT i.id FROM trigram_bench.ingredients i WHERE lower(i.name) LIKE '%saffron%'$q$
+    ];
+    labels TEXT[] := ARRAY['instruction LIKE ''%saffron%''', 'instruction LIKE ''%golden butter%''',
+                           'ingredient lower(name) LIKE ''%saffron%'''];
+    matches BIGINT;
+BEGIN
+    FOREACH instruction_count IN ARRAY ARRAY[10000, 100000, 1000000] LOOP
+        recipe_count := instruction_count / 10;
+        TRUNCATE trigram_bench.recipes, trigram_bench.ingredients, trigram_bench.instructions;
+        DROP INDEX IF EXISTS trigram_bench.idx_bench_instruction_content_trgm;
+        DROP INDEX IF EXISTS trigram_bench.idx_bench_ingredient_name_trgm;
+
+        INSERT INTO trigram_bench.recipes
+        SELECT gen_random_uuid(), now() - g * INTERVAL '1 minute'
+        FROM generate_series(1, recipe_count) g;
+
+        INSERT INTO trigram_bench.instructions
+        SELECT gen_random_uuid(), r.id, s, trigram_bench.sentence(s)
+        FROM trigram_bench.recipes r, generate_series(1, 10) s;
+
+        -- One ingredient per ten instructions, same vocabulary; one in a thousand is saffron
+        INSERT INTO trigram_bench.ingredients
+        SELECT gen_random_uuid(),
+               CASE WHEN g % 1000 = 0 THEN 'Saffron threads #' ELSE left(trigram_bench.sentence(g), 40) || ' #' END || g
+        FROM generate_series(1, recipe_count) g;
+
+        ANALYZE trigram_bench.recipes;
+        ANALYZE trigram_bench.instructions;
+        ANALYZE trigram_bench.ingredients;
+
+        FOR q IN 1..array_length(queries, 1) LOOP
+            EXECUTE 'SELECT count(*) FROM (' || regexp_replace(queries[q], 'LIMIT 21', '') || ') matched' INTO matches;
+            INSERT INTO trigram_bench.results (instructions, query, matches, like_seq_scan_ms)
+            VALUES (instruction_count, labels[q], matches, trigram_bench.time_query(queries[q]));
+        END LOOP;
+
+        CREATE INDEX idx_bench_instruction_content_trgm
+            ON trigram_bench.instructions USING gin (content gin_trgm_ops);
+        CREATE INDEX idx_bench_ingredient_name_trgm
+            ON trigram_bench.ingredients USING gin (lower(name) gin_trgm_ops);
+        ANALYZE trigram_bench.instructions;
+        ANALYZE trigram_bench.ingredients;
+
+        FOR q IN 1..array_length(queries, 1) LOOP
+            UPDATE trigram_bench.results
+            SET trigram_index_ms = trigram_bench.time_query(queries[q])
+            WHERE instructions = instruction_count AND query = labels[q];
+        END LOOP;
+    END LOOP;
+END $$;
+
+SELECT instructions, query, matches, like_seq_scan_ms, trigram_index_ms,
+       round(like_seq_scan_ms / nullif(trigram_index_ms, 0), 1) AS speedup
+FROM trigram_bench.results
+ORDER BY query, instructions;
+
+DROP SCHEMA trigram_bench CASCADE;
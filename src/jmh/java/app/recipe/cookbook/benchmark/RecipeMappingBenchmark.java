@@ -0,0 +1,89 @@
+package app.recipe.cookbook.benchmark;
+
+import app.recipe.cookbook.recipe.db.entity.Ingredient;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.entity.RecipeIngredient;
+import app.recipe.cookbook.recipe.dto.request.SaveRecipeRequestDto;
+import app.recipe.cookbook.recipe.mapper.IngredientMapper;
+import app.recipe.cookbook.recipe.mapper.InstructionMapper;
+import app.recipe.cookbook.recipe.mapper.RecipeMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO (and request to entity) mapping of a whole catalogue: the CPU cost of every read
+ * (search pages, exports) and write once the rows are in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class RecipeMappingBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int recipes;
+
+    @Param({"10"})
+    private int ingredientsPerRecipe;
+
+    @Param({"8"})
+    private int stepsPerRecipe;
+
+    private final IngredientMapper ingredientMapper = new IngredientMapper();
+    private final InstructionMapper instructionMapper = new InstructionMapper();
+    private final RecipeMapper recipeMapper = new RecipeMapper(ingredientMapper, instructionMapper);
+
+    private List<Recipe> catalogue;
+    private List<List<Ingredient>> ingredientsByRecipe;
+    private List<SaveRecipeRequestDto> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalogue = SyntheticCatalogue.generate(recipes, ingredientsPerRecipe, stepsPerRecipe).recipes();
+        ingredientsByRecipe = catalogue.stream()
+                .map(recipe -> recipe.getIngredients().stream().map(RecipeIngredient::getIngredient).toList())
+                .toList();
+        requests = catalogue.stream().map(SyntheticCatalogue::toRequest).toList();
+    }
+
+    @Benchmark
+    public void recipeToDto(Blackhole blackhole) {
+        for (Recipe recipe : catalogue) {
+            blackhole.consume(recipeMapper.toDto(recipe));
+        }
+    }
+
+    @Benchmark
+    public void instructionsToDto(Blackhole blackhole) {
+        for (Recipe recipe : catalogue) {
+            blackhole.consume(instructionMapper.toDto(recipe.getInstructions()));
+        }
+    }
+
+    @Benchmark
+    public void ingredientsFromRequest(Blackhole blackhole) {
+        for (int i = 0; i < catalogue.size(); i++) {
+            blackhole.consume(ingredientMapper.fromIngredientsAndDtos(
+                    ingredientsByRecipe.get(i),
+                    requests.get(i).getIngredients(),
+                    catalogue.get(i).getId()
+            ));
+        }
+    }
+}
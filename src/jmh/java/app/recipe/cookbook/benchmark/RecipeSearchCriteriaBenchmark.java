@@ -0,0 +1,84 @@
+package app.recipe.cookbook.benchmark;
+
+import app.recipe.cookbook.recipe.cache.RecipeSearchCache;
+import app.recipe.cookbook.recipe.dto.request.RecipeCursor;
+import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Per-request work of a search before the query runs: validation, normalisation of the ingredient terms
+ * into LIKE patterns and the search cache key. Ingredient matching itself happens in SQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecipeSearchCriteriaBenchmark {
+
+    /**
+     * Number of include and of exclude terms
+     */
+    @Param({"1", "5", "20"})
+    private int terms;
+
+    private RecipeSearchCriteria criteria;
+    private RecipeSearchCache recipeSearchCache;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        criteria = RecipeSearchCriteria.builder()
+                .isVegetarian(true)
+                .minServingSize(2)
+                .maxServingSize(6)
+                .includeIngredients(terms("  Ingredient %d ", 0))
+                .excludeIngredients(terms("INGREDIENT_%d", terms))
+                .instructionsContent("100% oven")
+                .cursor(new RecipeCursor(Instant.parse("2025-01-01T00:00:00Z"), UUID.randomUUID()).encode())
+                .pageSize(50)
+                .build();
+        recipeSearchCache = new RecipeSearchCache(1000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public RecipeSearchCriteria validate() {
+        criteria.validate();
+        return criteria;
+    }
+
+    @Benchmark
+    public String[] includeIngredientPatterns() {
+        return criteria.getIncludeIngredientPatterns();
+    }
+
+    @Benchmark
+    public RecipeSearchCache.Key cacheKey() {
+        return recipeSearchCache.keyOf(criteria);
+    }
+
+    private List<String> terms(String format, int firstIndex) {
+        return IntStream.range(firstIndex, firstIndex + terms)
+                .mapToObj(i -> String.format(format, i))
+                .toList();
+    }
+}
@@ -0,0 +1,90 @@
+package app.recipe.cookbook.benchmark;
+
+import app.recipe.cookbook.common.config.JacksonConfig;
+import app.recipe.cookbook.common.dto.response.CursorPage;
+import app.recipe.cookbook.common.dto.response.ProjectApiResponse;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeCursor;
+import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import app.recipe.cookbook.recipe.mapper.IngredientMapper;
+import app.recipe.cookbook.recipe.mapper.InstructionMapper;
+import app.recipe.cookbook.recipe.mapper.RecipeMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of recipe responses, with an ObjectMapper configured the way Spring Boot configures
+ * the one of the application: a search page (the common case) and the whole catalogue in one envelope.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class RecipeSerializationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int recipes;
+
+    @Param({"10"})
+    private int ingredientsPerRecipe;
+
+    @Param({"8"})
+    private int stepsPerRecipe;
+
+    private ObjectMapper objectMapper;
+
+    private ProjectApiResponse<CursorPage<RecipeDto>> searchPage;
+    private ProjectApiResponse<List<RecipeDto>> catalogue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().recipeFieldsCustomizer().customize(builder);
+        objectMapper = builder.build();
+
+        final RecipeMapper recipeMapper = new RecipeMapper(new IngredientMapper(), new InstructionMapper());
+        final List<RecipeDto> dtos = SyntheticCatalogue.generate(recipes, ingredientsPerRecipe, stepsPerRecipe)
+                .recipes()
+                .stream()
+                .map(recipeMapper::toDto)
+                .toList();
+
+        final List<RecipeDto> page = dtos.subList(0, Math.min(RecipeSearchCriteria.MAX_PAGE_SIZE, dtos.size()));
+        final RecipeDto last = page.get(page.size() - 1);
+        searchPage = ProjectApiResponse.success(
+                CursorPage.of(page, new RecipeCursor(last.getCreatedAt(), last.getId()).encode()));
+        catalogue = ProjectApiResponse.success(dtos);
+    }
+
+    @Benchmark
+    public byte[] searchPage() throws IOException {
+        return objectMapper.writeValueAsBytes(searchPage);
+    }
+
+    /**
+     * Written to a discarding stream: the point is the serialisation, not buffering gigabytes of JSON.
+     */
+    @Benchmark
+    public void catalogue() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), catalogue);
+    }
+}
@@ -0,0 +1,113 @@
+package app.recipe.cookbook.benchmark;
+
+import app.recipe.cookbook.common.config.JacksonConfig;
+import app.recipe.cookbook.common.dto.response.CursorPage;
+import app.recipe.cookbook.common.dto.response.ProjectApiResponse;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeCursor;
+import app.recipe.cookbook.recipe.mapper.IngredientMapper;
+import app.recipe.cookbook.recipe.mapper.InstructionMapper;
+import app.recipe.cookbook.recipe.mapper.RecipeMapper;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON against CBOR (Accept: application/cbor) for recipe responses, on both sides of the wire: serialisation by the
+ * application, deserialisation by the caller. ObjectMappers are configured as the ones of the application.
+ * <p>
+ * The size of the response in each format, raw and gzipped (as sent to clients accepting gzip), is printed once
+ * per trial, in the output of the fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeWireFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    /**
+     * Recipes of the search page: one, the default page size and the maximum one.
+     */
+    @Param({"1", "20", "100"})
+    private int recipes;
+
+    @Param({"10"})
+    private int ingredientsPerRecipe;
+
+    @Param({"8"})
+    private int stepsPerRecipe;
+
+    private ObjectMapper objectMapper;
+    private JavaType responseType;
+    private ProjectApiResponse<CursorPage<RecipeDto>> response;
+    private byte[] serialised;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        new JacksonConfig().recipeFieldsCustomizer().customize(builder);
+        objectMapper = builder.build();
+        final TypeFactory typeFactory = objectMapper.getTypeFactory();
+        responseType = typeFactory.constructParametricType(ProjectApiResponse.class,
+                typeFactory.constructParametricType(CursorPage.class, RecipeDto.class));
+
+        final RecipeMapper recipeMapper = new RecipeMapper(new IngredientMapper(), new InstructionMapper());
+        final List<RecipeDto> page = SyntheticCatalogue.generate(recipes, ingredientsPerRecipe, stepsPerRecipe)
+                .recipes()
+                .stream()
+                .map(recipeMapper::toDto)
+                .toList();
+        final RecipeDto last = page.get(page.size() - 1);
+        response = ProjectApiResponse.success(
+                CursorPage.of(page, new RecipeCursor(last.getCreatedAt(), last.getId()).encode()));
+
+        serialised = objectMapper.writeValueAsBytes(response);
+        System.out.printf("%s, %d recipes: %d bytes, %d gzipped%n", format, recipes, serialised.length, gzippedSize(serialised));
+    }
+
+    @Benchmark
+    public byte[] serialise() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public ProjectApiResponse<CursorPage<RecipeDto>> deserialise() throws IOException {
+        return objectMapper.readValue(serialised, responseType);
+    }
+
+    private static int gzippedSize(byte[] bytes) throws IOException {
+        final ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(bytes);
+        }
+        return gzipped.size();
+    }
+}
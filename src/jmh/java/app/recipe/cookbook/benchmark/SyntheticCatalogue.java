@@ -0,0 +1,129 @@
+package app.recipe.cookbook.benchmark;
+
+import app.recipe.cookbook.recipe.db.entity.Ingredient;
+import app.recipe.cookbook.recipe.db.entity.Instruction;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.entity.RecipeIngredient;
+import app.recipe.cookbook.recipe.dto.request.SaveRecipeRequestDto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic, in-memory catalogue of recipes for the benchmarks: same parameters, same catalogue.
+ * <p>
+ * Ingredients come from a shared pool (as they do in the database), and instruction texts are reused,
+ * so that a million recipes still fit in a few gigabytes of heap.
+ */
+final class SyntheticCatalogue {
+
+    private static final long SEED = 42L;
+    private static final int INGREDIENT_POOL_SIZE = 5_000;
+    private static final String[] UNITS = {null, "g", "kg", "ml", "l", "tsp", "tbsp", "cup", "dozen"};
+    private static final String[] STEPS = {
+            "Preheat the oven to 180 degrees.",
+            "Chop the vegetables into small pieces.",
+            "Whisk the eggs with salt and pepper to taste.",
+            "Simmer gently for twenty minutes, stirring from time to time.",
+            "Fold the flour into the batter without overmixing it.",
+            "Let it rest for ten minutes before serving.",
+            "Season, garnish with fresh herbs and serve warm."
+    };
+
+    private final List<Recipe> recipes;
+
+    private SyntheticCatalogue(List<Recipe> recipes) {
+        this.recipes = recipes;
+    }
+
+    /**
+     * @param recipeCount number of recipes
+     * @param ingredientsPerRecipe number of (distinct) ingredients of every recipe
+     * @param stepsPerRecipe number of instructions of every recipe
+     */
+    static SyntheticCatalogue generate(int recipeCount, int ingredientsPerRecipe, int stepsPerRecipe) {
+        final Random random = new Random(SEED);
+        final List<Ingredient> pool = new ArrayList<>(INGREDIENT_POOL_SIZE);
+        for (int i = 0; i < INGREDIENT_POOL_SIZE; i++) {
+            pool.add(Ingredient.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name("ingredient " + i)
+                    .isVegetarian(random.nextInt(4) != 0)
+                    .build());
+        }
+
+        final Instant newest = Instant.parse("2025-01-01T00:00:00Z");
+        final List<Recipe> recipes = new ArrayList<>(recipeCount);
+        for (int r = 0; r < recipeCount; r++) {
+            final UUID recipeId = new UUID(random.nextLong(), random.nextLong());
+            final Instant createdAt = newest.minusSeconds(r * 60L);
+            final Recipe recipe = Recipe.builder()
+                    .id(recipeId)
+                    .title("Recipe " + r)
+                    .description("Synthetic recipe number " + r)
+                    .servings(1 + random.nextInt(8))
+                    .isVegetarian(random.nextBoolean())
+                    .createdAt(createdAt)
+                    .updatedAt(createdAt)
+                    .build();
+
+            // Consecutive pool entries from a random offset: distinct within the recipe
+            final int offset = random.nextInt(INGREDIENT_POOL_SIZE);
+            for (int i = 0; i < ingredientsPerRecipe; i++) {
+                final Ingredient ingredient = pool.get((offset + i) % INGREDIENT_POOL_SIZE);
+                recipe.getIngredients().add(RecipeIngredient.builder()
+                        .recipeId(recipeId)
+                        .ingredientId(ingredient.getId())
+                        .recipe(recipe)
+                        .ingredient(ingredient)
+                        .quantity(BigDecimal.valueOf(1 + random.nextInt(500), 1))
+                        .unit(UNITS[random.nextInt(UNITS.length)])
+                        .build());
+            }
+            // Stored in reverse order, so that the mapper has to sort them
+            for (int step = stepsPerRecipe; step >= 1; step--) {
+                recipe.getInstructions().add(Instruction.builder()
+                        .id(new UUID(random.nextLong(), random.nextLong()))
+                        .recipeId(recipeId)
+                        .recipe(recipe)
+                        .stepNumber(step)
+                        .content(STEPS[random.nextInt(STEPS.length)])
+                        .build());
+            }
+            recipes.add(recipe);
+        }
+        return new SyntheticCatalogue(recipes);
+    }
+
+    List<Recipe> recipes() {
+        return recipes;
+    }
+
+    /**
+     * @return the request that would have created the recipe, ingredients and instructions in the same order
+     */
+    static SaveRecipeRequestDto toRequest(Recipe recipe) {
+        return SaveRecipeRequestDto.builder()
+                .title(recipe.getTitle())
+                .description(recipe.getDescription())
+                .servingSize(recipe.getServings())
+                .ingredients(recipe.getIngredients().stream()
+                        .map(ingredient -> SaveRecipeRequestDto.IngredientRequestDto.builder()
+                                .name(ingredient.getIngredient().getName())
+                                .quantity(ingredient.getQuantity())
+                                .unit(ingredient.getUnit())
+                                .isVegetarian(ingredient.getIngredient().getIsVegetarian())
+                                .build())
+                        .toList())
+                .instructions(recipe.getInstructions().stream()
+                        .map(instruction -> SaveRecipeRequestDto.InstructionRequestDto.builder()
+                                .content(instruction.getContent())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
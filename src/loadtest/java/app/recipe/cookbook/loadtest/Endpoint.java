@@ -0,0 +1,39 @@
+package app.recipe.cookbook.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * RecipeController operations driven by the load test; latencies are reported per endpoint.
+ */
+enum Endpoint {
+    CREATE("create", "POST /v1/recipes"),
+    UPDATE("update", "PUT /v1/recipes/{id}"),
+    GET("get", "GET /v1/recipes/{id}"),
+    SEARCH("search", "GET /v1/recipes"),
+    TEXT_SEARCH("text-search", "GET /v1/recipes/search"),
+    DELETE("delete", "DELETE /v1/recipes/{id}");
+
+    private final String name;
+    private final String route;
+
+    Endpoint(String name, String route) {
+        this.name = name;
+        this.route = route;
+    }
+
+    String route() {
+        return route;
+    }
+
+    static Endpoint fromName(String name) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.name.equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "Unknown endpoint '" + name + "', expected one of " + Arrays.toString(names())));
+    }
+
+    private static String[] names() {
+        return Arrays.stream(values()).map(endpoint -> endpoint.name).toArray(String[]::new);
+    }
+}
@@ -0,0 +1,67 @@
+package app.recipe.cookbook.loadtest;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latencies (in nanoseconds) and error counts of the requests sent by one client, per endpoint.
+ * Not thread-safe: every client records into its own instance, merged once the run is over.
+ */
+final class LatencySamples {
+
+    private final Map<Endpoint, long[]> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Integer> sizes = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Integer> errors = new EnumMap<>(Endpoint.class);
+
+    void record(Endpoint endpoint, long latencyNanos, boolean success) {
+        final int size = sizes.getOrDefault(endpoint, 0);
+        long[] samples = latencies.computeIfAbsent(endpoint, e -> new long[1024]);
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+            latencies.put(endpoint, samples);
+        }
+        samples[size] = latencyNanos;
+        sizes.put(endpoint, size + 1);
+        if (!success) {
+            errors.merge(endpoint, 1, Integer::sum);
+        }
+    }
+
+    void addAll(LatencySamples other) {
+        other.sizes.forEach((endpoint, size) -> {
+            final long[] samples = other.latencies.get(endpoint);
+            for (int i = 0; i < size; i++) {
+                record(endpoint, samples[i], true);
+            }
+        });
+        other.errors.forEach((endpoint, count) -> errors.merge(endpoint, count, Integer::sum));
+    }
+
+    int count(Endpoint endpoint) {
+        return sizes.getOrDefault(endpoint, 0);
+    }
+
+    int errors(Endpoint endpoint) {
+        return errors.getOrDefault(endpoint, 0);
+    }
+
+    /**
+     * @return the latencies of the endpoint, sorted ascending
+     */
+    long[] sorted(Endpoint endpoint) {
+        final long[] samples = Arrays.copyOf(latencies.getOrDefault(endpoint, new long[0]), count(endpoint));
+        Arrays.sort(samples);
+        return samples;
+    }
+
+    /**
+     * @param sorted latencies sorted ascending, not empty
+     * @param percentile between 0 (exclusive) and 100 (inclusive)
+     * @return the nearest-rank percentile
+     */
+    static long percentile(long[] sorted, double percentile) {
+        final int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
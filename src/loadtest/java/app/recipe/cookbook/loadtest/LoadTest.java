@@ -0,0 +1,307 @@
+package app.recipe.cookbook.loadtest;
+
+import app.recipe.cookbook.CookbookApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test of the RecipeController endpoints.
+ * <p>
+ * Unless {@code --loadtest.base-url} points to a running instance, starts PostgreSQL in a container and the
+ * application in-process (on a random port), seeds the catalogue through the bulk import, then runs
+ * {@code concurrency} closed-loop clients sending a weighted mix of requests. After a warmup, every latency is
+ * recorded, and p50 / p99 / p99.9 latencies and throughput are reported per endpoint (printed and written as JSON).
+ * <p>
+ * Arguments other than {@code --loadtest.*} are passed to the application, e.g. {@code --spring.profiles.active=...}.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private static final String RECIPES_PATH = "/v1/recipes";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final RecipeWorkload workload = new RecipeWorkload();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private String baseUrl;
+    // Profiles of the in-process application, to tell apart the reports of runs with different settings
+    private List<String> profiles = List.of();
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        final LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        final String[] applicationArgs = Arrays.stream(args)
+                .filter(arg -> !arg.startsWith(LoadTestConfig.PREFIX))
+                .toArray(String[]::new);
+        new LoadTest(config).run(applicationArgs);
+        // Testcontainers and the HTTP client leave non-daemon threads behind
+        System.exit(0);
+    }
+
+    private void run(String[] applicationArgs) throws Exception {
+        if (config.baseUrl() != null) {
+            baseUrl = config.baseUrl();
+            runAgainstApplication();
+            return;
+        }
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:14.17")) {
+            postgres.start();
+            try (ConfigurableApplicationContext application = startApplication(postgres, applicationArgs)) {
+                final int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+                baseUrl = "http://localhost:" + port;
+                profiles = List.of(application.getEnvironment().getActiveProfiles());
+                runAgainstApplication();
+            }
+        }
+    }
+
+    /**
+     * Command line arguments take precedence over application.properties: the data source is the container's,
+     * and SQL / INFO logging (which would flood the console and dominate latencies) is off unless asked for.
+     */
+    private static ConfigurableApplicationContext startApplication(PostgreSQLContainer<?> postgres, String[] applicationArgs) {
+        final String[] containerArgs = {
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.docker.compose.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.app.recipe.cookbook.loadtest=INFO",
+                "--server.port=0"
+        };
+        // Later arguments win, so the caller can override any of the above
+        final String[] args = Stream.concat(Arrays.stream(containerArgs), Arrays.stream(applicationArgs))
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(CookbookApplication.class).run(args);
+    }
+
+    private void runAgainstApplication() throws Exception {
+        seed();
+
+        final long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        final long end = warmupEnd + config.duration().toNanos();
+        log.info("Running {} clients against {}: {} warmup, {} measured", config.concurrency(), baseUrl,
+                config.warmup(), config.duration());
+
+        final LatencySamples samples = new LatencySamples();
+        final ExecutorService clients = Executors.newFixedThreadPool(config.concurrency());
+        try {
+            final List<Future<LatencySamples>> results = new ArrayList<>();
+            for (int i = 0; i < config.concurrency(); i++) {
+                results.add(clients.submit(() -> runClient(warmupEnd, end)));
+            }
+            for (Future<LatencySamples> result : results) {
+                samples.addAll(result.get());
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        report(samples);
+    }
+
+    /**
+     * Imports {@code seedRecipes} recipes in one NDJSON request and remembers their IDs.
+     */
+    private void seed() throws IOException, InterruptedException {
+        if (config.seedRecipes() == 0) {
+            return;
+        }
+        final ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        for (int i = 0; i < config.seedRecipes(); i++) {
+            payload.write(objectMapper.writeValueAsBytes(workload.newRecipe()));
+            payload.write('\n');
+        }
+
+        final long start = System.nanoTime();
+        final HttpResponse<byte[]> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + RECIPES_PATH + "/import"))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(payload.toByteArray()))
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode());
+        }
+
+        int imported = 0;
+        for (JsonNode item : objectMapper.readTree(response.body()).path("data").path("items")) {
+            if (item.hasNonNull("recipeId")) {
+                workload.addRecipe(UUID.fromString(item.get("recipeId").asText()));
+                imported++;
+            }
+        }
+        log.info("Seeded {} recipes in {} ms", imported, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private LatencySamples runClient(long warmupEnd, long end) {
+        final LatencySamples samples = new LatencySamples();
+        final int totalWeight = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+        long start;
+        while ((start = System.nanoTime()) < end) {
+            final Endpoint endpoint = pickEndpoint(totalWeight);
+            boolean success;
+            try {
+                final Boolean sent = send(endpoint);
+                if (sent == null) {
+                    continue; // nothing to send yet, e.g. no recipe left to delete
+                }
+                success = sent;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (start >= warmupEnd) {
+                samples.record(endpoint, System.nanoTime() - start, success);
+            }
+        }
+        return samples;
+    }
+
+    private Endpoint pickEndpoint(int totalWeight) {
+        int value = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> weight : config.mix().entrySet()) {
+            value -= weight.getValue();
+            if (value < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable: weights add up to " + totalWeight);
+    }
+
+    /**
+     * @return whether the request succeeded (2xx), or null when the endpoint needs a recipe and there is none
+     */
+    private Boolean send(Endpoint endpoint) throws IOException, InterruptedException {
+        switch (endpoint) {
+            case CREATE -> {
+                final HttpResponse<byte[]> response = exchange("POST", RECIPES_PATH, workload.newRecipe());
+                if (!isSuccess(response)) {
+                    return false;
+                }
+                workload.addRecipe(UUID.fromString(objectMapper.readTree(response.body()).path("data").path("id").asText()));
+                return true;
+            }
+            case UPDATE -> {
+                final UUID id = workload.anyRecipe();
+                return id == null ? null : isSuccess(exchange("PUT", RECIPES_PATH + "/" + id, workload.newRecipe()));
+            }
+            case GET -> {
+                final UUID id = workload.anyRecipe();
+                return id == null ? null : isSuccess(exchange("GET", RECIPES_PATH + "/" + id, null));
+            }
+            case SEARCH -> {
+                return isSuccess(exchange("GET", RECIPES_PATH + "?" + workload.searchQuery(), null));
+            }
+            case TEXT_SEARCH -> {
+                return isSuccess(exchange("GET", RECIPES_PATH + "/search?" + workload.textSearchQuery(), null));
+            }
+            case DELETE -> {
+                final UUID id = workload.takeRecipe();
+                return id == null ? null : isSuccess(exchange("DELETE", RECIPES_PATH + "/" + id, null));
+            }
+            default -> throw new IllegalArgumentException("Unsupported endpoint: " + endpoint);
+        }
+    }
+
+    private HttpResponse<byte[]> exchange(String method, String path, Object body) throws IOException, InterruptedException {
+        final HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() / 100 == 2;
+    }
+
+    private void report(LatencySamples samples) throws IOException {
+        final double seconds = config.duration().toNanos() / 1e9;
+        final List<Map<String, Object>> endpoints = new ArrayList<>();
+
+        System.out.printf("%n%-26s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            final long[] latencies = samples.sorted(endpoint);
+            if (latencies.length == 0) {
+                continue;
+            }
+            final Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint.route());
+            row.put("requests", latencies.length);
+            row.put("errors", samples.errors(endpoint));
+            row.put("requestsPerSecond", latencies.length / seconds);
+            row.put("p50Millis", millis(LatencySamples.percentile(latencies, 50)));
+            row.put("p99Millis", millis(LatencySamples.percentile(latencies, 99)));
+            row.put("p999Millis", millis(LatencySamples.percentile(latencies, 99.9)));
+            row.put("maxMillis", millis(latencies[latencies.length - 1]));
+            endpoints.add(row);
+
+            System.out.printf("%-26s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", row.values().toArray());
+        }
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("baseUrl", baseUrl);
+        result.put("profiles", profiles);
+        result.put("javaVersion", Runtime.version().toString());
+        result.put("seedRecipes", config.seedRecipes());
+        result.put("concurrency", config.concurrency());
+        result.put("warmup", config.warmup().toString());
+        result.put("duration", config.duration().toString());
+        result.put("mix", config.mix());
+        result.put("endpoints", endpoints);
+        if (config.result().getParent() != null) {
+            Files.createDirectories(config.result().getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(config.result().toFile(), result);
+        System.out.printf("%nReport written to %s%n", config.result().toAbsolutePath());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
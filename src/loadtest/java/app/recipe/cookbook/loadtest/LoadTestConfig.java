@@ -0,0 +1,78 @@
+package app.recipe.cookbook.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from the {@code --loadtest.*} arguments.
+ *
+ * @param baseUrl URL of an already running application; when null the application is started
+ *                in-process against a PostgreSQL container
+ * @param seedRecipes recipes imported before the run
+ * @param concurrency number of clients, each sending one request at a time
+ * @param warmup time spent sending requests before latencies are recorded
+ * @param duration time during which latencies are recorded
+ * @param mix relative weight of every endpoint in the workload
+ * @param result file the report is written to (as JSON)
+ */
+record LoadTestConfig(
+        String baseUrl,
+        int seedRecipes,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Integer> mix,
+        Path result) {
+
+    static final String PREFIX = "--loadtest.";
+    private static final String DEFAULT_MIX = "get=50,search=20,text-search=5,create=12,update=10,delete=3";
+
+    /**
+     * @param args command line arguments; only the {@code --loadtest.*} ones are read
+     * @throws IllegalArgumentException on invalid values
+     */
+    static LoadTestConfig fromArgs(String[] args) {
+        final Map<String, String> options = new HashMap<>();
+        Arrays.stream(args)
+                .filter(arg -> arg.startsWith(PREFIX))
+                .map(arg -> arg.substring(PREFIX.length()).split("=", 2))
+                .forEach(option -> options.put(option[0], option.length == 2 ? option[1] : ""));
+
+        return new LoadTestConfig(
+                options.get("base-url"),
+                Integer.parseInt(options.getOrDefault("seed-recipes", "5000")),
+                Integer.parseInt(options.getOrDefault("concurrency", "32")),
+                Duration.parse(options.getOrDefault("warmup", "PT15S")),
+                Duration.parse(options.getOrDefault("duration", "PT60S")),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Path.of(options.getOrDefault("result", "target/loadtest-result.json"))
+        );
+    }
+
+    /**
+     * @param mix comma-separated {@code endpoint=weight} pairs, e.g. {@code get=80,search=20}
+     * @throws IllegalArgumentException on unknown endpoints, negative weights or an empty mix
+     */
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        final Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid workload mix entry: " + entry);
+            }
+            final int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in workload mix: " + entry);
+            }
+            weights.put(Endpoint.fromName(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("Workload mix has no endpoint with a positive weight: " + mix);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,166 @@
+package app.recipe.cookbook.loadtest;
+
+import app.recipe.cookbook.recipe.dto.request.SaveRecipeRequestDto;
+
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates the data of the load test: recipes built from a vocabulary of real ingredient names
+ * (so that searches match a realistic share of the catalogue) and search queries of varied shapes.
+ * Also tracks the IDs of the recipes that exist, for the requests that need one.
+ */
+final class RecipeWorkload {
+
+    /**
+     * Ingredient name and whether it is vegetarian
+     */
+    private static final Map<String, Boolean> INGREDIENTS = Map.ofEntries(
+            Map.entry("egg", true), Map.entry("milk", true), Map.entry("butter", true),
+            Map.entry("flour", true), Map.entry("sugar", true), Map.entry("salt", true),
+            Map.entry("black pepper", true), Map.entry("olive oil", true), Map.entry("garlic", true),
+            Map.entry("onion", true), Map.entry("red onion", true), Map.entry("shallot", true),
+            Map.entry("tomato", true), Map.entry("cherry tomato", true), Map.entry("potato", true),
+            Map.entry("sweet potato", true), Map.entry("carrot", true), Map.entry("celery", true),
+            Map.entry("spinach", true), Map.entry("mushroom", true), Map.entry("zucchini", true),
+            Map.entry("bell pepper", true), Map.entry("chili", true), Map.entry("ginger", true),
+            Map.entry("lemon", true), Map.entry("lime", true), Map.entry("basil", true),
+            Map.entry("parsley", true), Map.entry("coriander", true), Map.entry("thyme", true),
+            Map.entry("rosemary", true), Map.entry("rice", true), Map.entry("pasta", true),
+            Map.entry("noodles", true), Map.entry("bread", true), Map.entry("parmesan", true),
+            Map.entry("mozzarella", true), Map.entry("cheddar", true), Map.entry("cream", true),
+            Map.entry("yogurt", true), Map.entry("coconut milk", true), Map.entry("soy sauce", true),
+            Map.entry("fish sauce", false), Map.entry("chickpeas", true), Map.entry("lentils", true),
+            Map.entry("tofu", true), Map.entry("chicken breast", false), Map.entry("chicken thigh", false),
+            Map.entry("beef", false), Map.entry("ground beef", false), Map.entry("pork belly", false),
+            Map.entry("bacon", false), Map.entry("ham", false), Map.entry("salmon", false),
+            Map.entry("tuna", false), Map.entry("shrimp", false), Map.entry("anchovy", false)
+    );
+    private static final List<String> INGREDIENT_NAMES = List.copyOf(INGREDIENTS.keySet());
+    private static final String[] DISHES = {"curry", "stew", "salad", "soup", "omelette", "stir fry", "pie", "risotto"};
+    private static final String[] UNITS = {null, "g", "kg", "ml", "tsp", "tbsp", "cup", "pinch"};
+    private static final String[] STEPS = {
+            "Preheat the oven to 180 degrees.",
+            "Chop the %s into small pieces.",
+            "Fry the %s in a hot pan for five minutes.",
+            "Simmer gently for twenty minutes, stirring from time to time.",
+            "Season with salt and pepper to taste.",
+            "Bake until golden, about thirty minutes.",
+            "Let it rest for ten minutes, then serve warm."
+    };
+
+    private final List<UUID> recipeIds = new ArrayList<>();
+
+    /**
+     * @return a valid recipe of 4 to 14 distinct ingredients and 3 to 10 steps
+     */
+    SaveRecipeRequestDto newRecipe() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<String> names = pick(4 + random.nextInt(11));
+        final List<SaveRecipeRequestDto.IngredientRequestDto> ingredients = names.stream()
+                .map(name -> SaveRecipeRequestDto.IngredientRequestDto.builder()
+                        .name(name)
+                        .quantity(BigDecimal.valueOf(1 + random.nextInt(1000), 1))
+                        .unit(UNITS[random.nextInt(UNITS.length)])
+                        .isVegetarian(INGREDIENTS.get(name))
+                        .build())
+                .toList();
+        final List<SaveRecipeRequestDto.InstructionRequestDto> instructions = new ArrayList<>();
+        for (int step = 3 + random.nextInt(8); step > 0; step--) {
+            instructions.add(SaveRecipeRequestDto.InstructionRequestDto.builder()
+                    .content(String.format(STEPS[random.nextInt(STEPS.length)], names.get(random.nextInt(names.size()))))
+                    .build());
+        }
+        return SaveRecipeRequestDto.builder()
+                .title(capitalize(names.get(0)) + " " + DISHES[random.nextInt(DISHES.length)])
+                .description("A " + names.get(0) + " and " + names.get(1) + " dish for every day.")
+                .servingSize(1 + random.nextInt(8))
+                .ingredients(ingredients)
+                .instructions(instructions)
+                .build();
+    }
+
+    /**
+     * @return the query string of a filtered search, mixing the filter shapes clients use
+     */
+    String searchQuery() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final List<String> params = new ArrayList<>();
+        switch (random.nextInt(5)) {
+            case 0 -> params.add("isVegetarian=true");
+            case 1 -> params.add("includeIngredients=" + encode(pick(1).get(0)));
+            case 2 -> {
+                final List<String> names = pick(3);
+                params.add("includeIngredients=" + encode(names.get(0)));
+                params.add("includeIngredients=" + encode(names.get(1)));
+                params.add("excludeIngredients=" + encode(names.get(2)));
+            }
+            case 3 -> {
+                params.add("minServings=2");
+                params.add("maxServings=" + (2 + random.nextInt(6)));
+            }
+            default -> params.add("instructionContent=" + encode("oven"));
+        }
+        params.add("size=" + (random.nextBoolean() ? 20 : 50));
+        return String.join("&", params);
+    }
+
+    /**
+     * @return the query string of a full-text search
+     */
+    String textSearchQuery() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final String term = random.nextBoolean()
+                ? pick(1).get(0)
+                : DISHES[random.nextInt(DISHES.length)];
+        return "q=" + encode(term) + "&size=20";
+    }
+
+    synchronized void addRecipe(UUID id) {
+        recipeIds.add(id);
+    }
+
+    /**
+     * @return any existing recipe, or null when there is none
+     */
+    synchronized UUID anyRecipe() {
+        return recipeIds.isEmpty() ? null : recipeIds.get(ThreadLocalRandom.current().nextInt(recipeIds.size()));
+    }
+
+    /**
+     * @return an existing recipe, no longer handed out for other requests (it is about to be deleted),
+     * or null when there is none
+     */
+    synchronized UUID takeRecipe() {
+        if (recipeIds.isEmpty()) {
+            return null;
+        }
+        final int index = ThreadLocalRandom.current().nextInt(recipeIds.size());
+        final UUID last = recipeIds.remove(recipeIds.size() - 1);
+        return index == recipeIds.size() ? last : recipeIds.set(index, last);
+    }
+
+    private static List<String> pick(int count) {
+        final List<String> names = new ArrayList<>(INGREDIENT_NAMES);
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            Collections.swap(names, i, i + random.nextInt(names.size() - i));
+        }
+        return names.subList(0, count);
+    }
+
+    private static String capitalize(String text) {
+        return Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
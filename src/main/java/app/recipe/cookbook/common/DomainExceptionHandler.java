@@ -2,7 +2,9 @@ package app.recipe.cookbook.common;
 
 import app.recipe.cookbook.common.dto.response.ProjectApiResponse;
 import app.recipe.cookbook.common.exception.RecipeNotFoundException;
+import app.recipe.cookbook.common.exception.RecipeVersionMismatchException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -25,6 +27,26 @@ public class DomainExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * If-Match did not match the current version of the recipe
+     */
+    @ExceptionHandler(RecipeVersionMismatchException.class)
+    public ResponseEntity<ProjectApiResponse<Void>> handleRecipeVersionMismatchException(RecipeVersionMismatchException ex) {
+        log.warn("Recipe version mismatch: {}", ex.getMessage());
+        final ProjectApiResponse<Void> errorResponse = ProjectApiResponse.error(ex.getCode(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * A concurrent write committed first, between the read of the recipe and the write (version check at flush)
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProjectApiResponse<Void>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        final ProjectApiResponse<Void> errorResponse = ProjectApiResponse.error("Recipe was modified concurrently, please retry");
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handle illegal argument exceptions
      */
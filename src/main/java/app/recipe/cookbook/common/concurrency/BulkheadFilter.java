@@ -0,0 +1,88 @@
+package app.recipe.cookbook.common.concurrency;
+
+import app.recipe.cookbook.common.dto.response.ProjectApiResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Semaphore bulkhead bounding the API requests in progress, sized to the connection pool.
+ * <p>
+ * With open-in-view, a request holds its database connection from its first statement until it completes, so at most
+ * pool-size requests can make progress anyway. Tomcat's thread pool is much bigger than the connection pool: every
+ * other request would queue inside Hikari and fail after its connection timeout with a 500. Here they queue on the
+ * semaphore (fairly) for at most {@code maxWait}, then get a 503 with Retry-After, without touching the pool.
+ * <p>
+ * The body of a streamed response (recipe export) is written after the filter returned: it runs outside the bulkhead.
+ */
+@Slf4j
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    static final String REJECTED_METRIC = "cookbook.bulkhead.rejected";
+    static final String AVAILABLE_METRIC = "cookbook.bulkhead.available";
+
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    public BulkheadFilter(int maxConcurrentRequests, Duration maxWait, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxWait = maxWait;
+        this.objectMapper = objectMapper;
+        this.rejected = Counter.builder(REJECTED_METRIC)
+                .description("Requests rejected (503) after waiting for the bulkhead")
+                .register(meterRegistry);
+        Gauge.builder(AVAILABLE_METRIC, permits, Semaphore::availablePermits)
+                .description("Requests that can still start without waiting")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(response);
+            return;
+        }
+        if (!acquired) {
+            reject(response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        rejected.increment();
+        log.debug("Request rejected: no capacity freed up within {}", maxWait);
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ProjectApiResponse.error(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy, please retry"));
+    }
+}
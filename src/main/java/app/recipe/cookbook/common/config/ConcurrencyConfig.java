@@ -0,0 +1,32 @@
+package app.recipe.cookbook.common.config;
+
+import app.recipe.cookbook.common.concurrency.BulkheadFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ConcurrencyConfig {
+
+    /**
+     * Bounds the API requests in progress, see {@link BulkheadFilter}. Actuator endpoints stay reachable when saturated.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cookbook.bulkhead.enabled", havingValue = "true")
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(
+            @Value("${cookbook.bulkhead.max-concurrent-requests}") int maxConcurrentRequests,
+            @Value("${cookbook.bulkhead.max-wait:2s}") Duration maxWait,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        final FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(
+                new BulkheadFilter(maxConcurrentRequests, maxWait, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/v1/*");
+        return registration;
+    }
+}
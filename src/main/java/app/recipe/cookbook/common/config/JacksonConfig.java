@@ -0,0 +1,60 @@
+package app.recipe.cookbook.common.config;
+
+import app.recipe.cookbook.recipe.dto.domain.InstructionDto;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.domain.RecipeIngredientDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeFields;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Binds the recipe DTOs to the sparse fieldset filters of {@link RecipeFields}. Responses that select no fields
+     * (and everything else written by the application ObjectMapper, such as the export) serialise every property.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer recipeFieldsCustomizer() {
+        return builder -> builder
+                .mixIn(RecipeDto.class, RecipeFields.RecipeMixIn.class)
+                .mixIn(RecipeIngredientDto.class, RecipeFields.IngredientMixIn.class)
+                .mixIn(InstructionDto.class, RecipeFields.InstructionMixIn.class)
+                .filters(RecipeFields.ALL.filterProvider());
+    }
+
+    /**
+     * Reads and writes CBOR (application/cbor) for the callers asking for it, with an ObjectMapper configured as the
+     * JSON one: same modules, mix-ins and filters. Spring Boot registers it right before the default CBOR converter,
+     * after the JSON converter, so that requests accepting any media type still get JSON.
+     *
+     * @param builder the builder of Spring Boot, already customized
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Spring Boot keeps the default CBOR converter (registered when jackson-dataformat-cbor is on the classpath) behind
+     * the one above: MVC drops it, so that CBOR is only ever written by the application ObjectMapper.
+     */
+    @Bean
+    public WebMvcConfigurer cborHttpMessageConverterReplacement(MappingJackson2CborHttpMessageConverter cborHttpMessageConverter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                        && converter != cborHttpMessageConverter);
+            }
+        };
+    }
+}
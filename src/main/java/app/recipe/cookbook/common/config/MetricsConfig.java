@@ -0,0 +1,32 @@
+package app.recipe.cookbook.common.config;
+
+import app.recipe.cookbook.common.metrics.StatementCountFilter;
+import app.recipe.cookbook.common.metrics.StatementCounter;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Makes {@code @Timed} methods of Spring beans publish timers.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+    }
+
+    @Bean
+    public StatementCountFilter statementCountFilter(MeterRegistry meterRegistry) {
+        return new StatementCountFilter(meterRegistry);
+    }
+}
@@ -0,0 +1,36 @@
+package app.recipe.cookbook.common.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A page of results, navigable with an opaque cursor")
+public class CursorPage<T> {
+
+    @Schema(description = "Items in this page")
+    private List<T> items;
+
+    @Schema(description = "Cursor to pass as `cursor` to fetch the next page. Absent on the last page.", nullable = true)
+    private String nextCursor;
+
+    @Schema(description = "Whether there are more items after this page", example = "true")
+    private boolean hasNext;
+
+    public static <T> CursorPage<T> of(List<T> items, String nextCursor) {
+        return CursorPage.<T>builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .build();
+    }
+}
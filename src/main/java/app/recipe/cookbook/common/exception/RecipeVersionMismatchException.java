@@ -0,0 +1,20 @@
+package app.recipe.cookbook.common.exception;
+
+import app.recipe.cookbook.common.DomainLogicException;
+
+/**
+ * The recipe is not at the version the client expected (If-Match): it changed since the client read it.
+ */
+public class RecipeVersionMismatchException extends DomainLogicException {
+
+    private static final int ERROR_CODE = 2;
+    public RecipeVersionMismatchException(String message) {
+        super(message);
+    }
+
+    @Override
+    public int getCode() {
+        return ERROR_CODE;
+    }
+
+}
@@ -0,0 +1,47 @@
+package app.recipe.cookbook.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the number of SQL statements run by each request, per method and route template (as
+ * {@code http.server.requests} does, so that raw paths never become tags).
+ * <p>
+ * Only the statements of the request thread are counted: the body of a streamed response (recipe export)
+ * is written on another thread, after this filter returned.
+ */
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    static final String METRIC = "cookbook.http.server.statements";
+
+    private final MeterRegistry meterRegistry;
+
+    public StatementCountFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            final int statements = StatementCounter.stop();
+            final Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC)
+                    .tags("method", request.getMethod(), "uri", route != null ? route.toString() : "UNKNOWN")
+                    .description("SQL statements run by Hibernate per request")
+                    .register(meterRegistry)
+                    .record(statements);
+        }
+    }
+}
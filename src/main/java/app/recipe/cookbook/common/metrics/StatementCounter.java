@@ -0,0 +1,34 @@
+package app.recipe.cookbook.common.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, between {@link #start()} and {@link #stop()}.
+ * Statements run outside Hibernate (JdbcTemplate) are not seen.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * @return the statements prepared since {@link #start()}; 0 when counting was not started on this thread
+     */
+    public static int stop() {
+        final int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        final int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
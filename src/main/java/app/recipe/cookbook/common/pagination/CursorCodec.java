@@ -0,0 +1,43 @@
+package app.recipe.cookbook.common.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions into opaque, URL-safe cursor tokens (and back).
+ * Clients should treat the token as a black box and simply pass it back.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(String... parts) {
+        final String raw = String.join(SEPARATOR, parts);
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token cursor token previously produced by {@link #encode(String...)}
+     * @param expectedParts number of parts the cursor must contain
+     * @return decoded cursor parts
+     * @throws IllegalArgumentException when the token is malformed
+     */
+    public static String[] decode(String token, int expectedParts) {
+        final String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        final String[] parts = raw.split("\\" + SEPARATOR, -1);
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        return parts;
+    }
+}
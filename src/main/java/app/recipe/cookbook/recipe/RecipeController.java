@@ -1,8 +1,14 @@
 package app.recipe.cookbook.recipe;
 
 import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.domain.RecipeSummaryDto;
+import app.recipe.cookbook.recipe.dto.request.PatchRecipeRequestDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeFields;
 import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import app.recipe.cookbook.recipe.dto.request.RecipeTextSearchCriteria;
 import app.recipe.cookbook.recipe.dto.request.SaveRecipeRequestDto;
+import app.recipe.cookbook.recipe.dto.response.RecipeImportReport;
+import app.recipe.cookbook.common.dto.response.CursorPage;
 import app.recipe.cookbook.common.dto.response.ProjectApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,9 +21,17 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,7 +42,12 @@ import java.util.UUID;
 @Tag(name = "Recipe Management", description = "APIs for managing cooking recipes, ingredients, and instructions")
 public class RecipeController {
 
+    private static final String FIELDS_DESCRIPTION = "Comma-separated properties of the recipes to return, " +
+            "ingredient and instruction ones prefixed by ingredients. or instructions. Omit for all of them.";
+
     private final RecipeService recipeService;
+    private final RecipeImportService recipeImportService;
+    private final RecipeExportService recipeExportService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -51,10 +70,46 @@ public class RecipeController {
         return ProjectApiResponse.success(createdRecipe);
     }
 
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            summary = "Bulk import recipes",
+            description = "Imports recipes from a JSON array or an NDJSON stream of recipes (same format as the create endpoint). " +
+                    "The payload is streamed and written in chunks; invalid recipes are skipped and reported, the others are imported."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed, see the report for the result of every recipe",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed JSON payload",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class)))
+    })
+    public ProjectApiResponse<RecipeImportReport> importRecipes(
+            @Parameter(hidden = true) InputStream payload) throws IOException {
+        final RecipeImportReport report = recipeImportService.importRecipes(payload);
+        return ProjectApiResponse.success(report);
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Export all recipes",
+            description = "Streams the whole recipe catalogue as NDJSON: one recipe (same format as the get endpoint) per line."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes streamed successfully",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = RecipeDto.class)))
+    })
+    public ResponseEntity<StreamingResponseBody> exportRecipes() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recipes.ndjson\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(recipeExportService::exportRecipes);
+    }
+
     @GetMapping
     @Operation(
             summary = "Search recipes",
-            description = "Search recipes with various filtering options. Multiple filters can be combined for advanced search."
+            description = "Search recipes with various filtering options. Multiple filters can be combined for advanced search. " +
+                    "Results are paginated newest first: pass the returned nextCursor as cursor to fetch the next page. " +
+                    "Pass fields to only get some properties of the recipes: ingredients and instructions left out are not even read."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Recipes retrieved successfully",
@@ -62,7 +117,7 @@ public class RecipeController {
             @ApiResponse(responseCode = "400", description = "Invalid search parameters",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class)))
     })
-    public ProjectApiResponse<List<RecipeDto>> getRecipes(
+    public MappingJacksonValue getRecipes(
             @Parameter(description = "Exact number of servings", example = "4")
             @RequestParam(required = false) @Min(1) Integer servings,
             @Parameter(description = "Minimum number of servings", example = "2")
@@ -76,9 +131,84 @@ public class RecipeController {
             @Parameter(description = "Exclude recipes containing these ingredients", example = "[\"pork\", \"chicken\"]")
             @RequestParam(required = false) List<String> excludeIngredients,
             @Parameter(description = "Search within instruction content", example = "cook in wok")
-            @RequestParam(required = false) String instructionContent
-            // TODO: support pagination
+            @RequestParam(required = false) String instructionContent,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page. Omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of recipes per page (max 100)", example = "20")
+            @RequestParam(required = false) @Min(1) Integer size,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,title,ingredients.name")
+            @RequestParam(required = false) String fields
     ) {
+        final RecipeSearchCriteria searchCriteria = searchCriteria(servings, minServings, maxServings, isVegetarian,
+                includeIngredients, excludeIngredients, instructionContent, cursor, size);
+        final RecipeFields recipeFields = RecipeFields.parse(fields);
+
+        final CursorPage<RecipeDto> searchResult = recipeService.searchRecipes(searchCriteria, recipeFields);
+        return withFields(ProjectApiResponse.success(searchResult), recipeFields);
+    }
+
+    @GetMapping("/summaries")
+    @Operation(
+            summary = "Search recipe summaries",
+            description = "Same search (filters and pagination) as the search endpoint, returning for each recipe only what lists show: " +
+                    "title, servings, whether it is vegetarian and its number of ingredients. " +
+                    "Much cheaper than the full recipes: no ingredient or instruction is read."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipe summaries retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid search parameters",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class)))
+    })
+    public ProjectApiResponse<CursorPage<RecipeSummaryDto>> getRecipeSummaries(
+            @Parameter(description = "Exact number of servings", example = "4")
+            @RequestParam(required = false) @Min(1) Integer servings,
+            @Parameter(description = "Minimum number of servings", example = "2")
+            @RequestParam(required = false) @Min(1) Integer minServings,
+            @Parameter(description = "Maximum number of servings", example = "6")
+            @RequestParam(required = false) @Min(1) Integer maxServings,
+            @Parameter(description = "Filter by vegetarian recipes", example = "true")
+            @RequestParam(required = false) Boolean isVegetarian,
+            @Parameter(description = "Include recipes containing these ingredients", example = "[\"tomato\", \"basil\"]")
+            @RequestParam(required = false) List<String> includeIngredients,
+            @Parameter(description = "Exclude recipes containing these ingredients", example = "[\"pork\", \"chicken\"]")
+            @RequestParam(required = false) List<String> excludeIngredients,
+            @Parameter(description = "Search within instruction content", example = "cook in wok")
+            @RequestParam(required = false) String instructionContent,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page. Omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of recipes per page (max 100)", example = "20")
+            @RequestParam(required = false) @Min(1) Integer size
+    ) {
+        final RecipeSearchCriteria searchCriteria = searchCriteria(servings, minServings, maxServings, isVegetarian,
+                includeIngredients, excludeIngredients, instructionContent, cursor, size);
+
+        final CursorPage<RecipeSummaryDto> searchResult = recipeService.searchRecipeSummaries(searchCriteria);
+        return ProjectApiResponse.success(searchResult);
+    }
+
+    /**
+     * Response serialising only the selected properties of the recipes it holds.
+     */
+    private static MappingJacksonValue withFields(ProjectApiResponse<?> response, RecipeFields fields) {
+        final MappingJacksonValue body = new MappingJacksonValue(response);
+        body.setFilters(fields.filterProvider());
+        return body;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the filters conflict with each other
+     */
+    private static RecipeSearchCriteria searchCriteria(
+            Integer servings,
+            Integer minServings,
+            Integer maxServings,
+            Boolean isVegetarian,
+            List<String> includeIngredients,
+            List<String> excludeIngredients,
+            String instructionContent,
+            String cursor,
+            Integer size) {
         final RecipeSearchCriteria searchCriteria = RecipeSearchCriteria.builder()
                 .isVegetarian(isVegetarian)
                 .servingSize(servings)
@@ -87,52 +217,136 @@ public class RecipeController {
                 .includeIngredients(includeIngredients)
                 .excludeIngredients(excludeIngredients)
                 .instructionsContent(instructionContent)
+                .cursor(cursor)
+                .pageSize(size)
+                .build();
+
+        searchCriteria.validate();
+        return searchCriteria;
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Full-text recipe search",
+            description = "Search recipes by relevance across title, ingredient names, description and instructions (in that order of weight). " +
+                    "The last word is matched as a prefix, so the endpoint can be called as the user types. " +
+                    "Results are paginated most relevant first: pass the returned nextCursor as cursor to fetch the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recipes retrieved successfully",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid search parameters",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class)))
+    })
+    public ProjectApiResponse<CursorPage<RecipeDto>> searchRecipes(
+            @Parameter(description = "Free-text query", example = "chicken cur", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page. Omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of recipes per page (max 100)", example = "20")
+            @RequestParam(required = false) @Min(1) Integer size
+    ) {
+        final RecipeTextSearchCriteria searchCriteria = RecipeTextSearchCriteria.builder()
+                .query(q)
+                .cursor(cursor)
+                .pageSize(size)
                 .build();
 
         searchCriteria.validate();
 
-        final List<RecipeDto> searchResult = recipeService.searchRecipes(searchCriteria);
+        final CursorPage<RecipeDto> searchResult = recipeService.searchRecipesByText(searchCriteria);
         return ProjectApiResponse.success(searchResult);
     }
 
     @GetMapping("/{id}")
     @Operation(
             summary = "Get recipe by ID",
-            description = "Retrieve a specific recipe by its unique identifier including all ingredients and instructions."
+            description = "Retrieve a specific recipe by its unique identifier including all ingredients and instructions " +
+                    "(or only the properties given as fields). " +
+                    "The ETag of the response is the version of the recipe: send it back as If-None-Match to only get the recipe when it changed."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Recipe found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Recipe unchanged since the version given as If-None-Match"),
             @ApiResponse(responseCode = "404", description = "Recipe not found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class)))
     })
-    public ProjectApiResponse<RecipeDto> getRecipeById(
+    public ResponseEntity<MappingJacksonValue> getRecipeById(
             @Parameter(description = "Recipe unique identifier", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
-            @PathVariable UUID id) {
+            @PathVariable UUID id,
+            @Parameter(description = FIELDS_DESCRIPTION, example = "id,title,ingredients.name")
+            @RequestParam(required = false) String fields,
+            @Parameter(hidden = true) WebRequest webRequest) {
         log.info("Fetching recipe with ID: {}", id);
-        final RecipeDto recipe = recipeService.getRecipeById(id);
-        return ProjectApiResponse.success(recipe);
+        final RecipeFields recipeFields = RecipeFields.parse(fields);
+        // Conditional read: compare versions before loading the recipe and its children
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            final String eTag = RecipeETag.of(recipeService.getRecipeVersion(id));
+            if (webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
+        final RecipeDto recipe = recipeService.getRecipeById(id, recipeFields);
+        return ResponseEntity.ok()
+                .eTag(RecipeETag.of(recipe.getVersion()))
+                .body(withFields(ProjectApiResponse.success(recipe), recipeFields));
     }
 
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @Operation(
             summary = "Update an existing recipe",
-            description = "Update a recipe by replacing all its data with the provided information. This will update ingredients and instructions as well."
+            description = "Update a recipe by replacing all its data with the provided information. This will update ingredients and instructions as well; " +
+                    "only the ingredients and instruction steps that actually change are written."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Recipe updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input data",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
             @ApiResponse(responseCode = "404", description = "Recipe not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Recipe modified concurrently, retry",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "412", description = "Recipe modified since the version given as If-Match",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class)))
     })
     public void updateRecipe(
             @Parameter(description = "Recipe unique identifier", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
             @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being updated: the update fails (412) if the recipe changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Updated recipe data", required = true)
             @RequestBody SaveRecipeRequestDto requestDto) {
-        recipeService.updateRecipe(id, requestDto);
+        recipeService.updateRecipe(id, requestDto, RecipeETag.versionsMatching(ifMatch));
+    }
+
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(
+            summary = "Partially update a recipe",
+            description = "Update only the fields present in the request. Ingredients and instructions, when present, replace the current lists; " +
+                    "only the ingredients and instruction steps that actually change are written."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Recipe updated successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Recipe not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Recipe modified concurrently, retry",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "412", description = "Recipe modified since the version given as If-Match",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class)))
+    })
+    public void patchRecipe(
+            @Parameter(description = "Recipe unique identifier", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
+            @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being updated: the update fails (412) if the recipe changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Parameter(description = "Recipe fields to update", required = true)
+            @Valid @RequestBody PatchRecipeRequestDto requestDto) {
+        recipeService.patchRecipe(id, requestDto, RecipeETag.versionsMatching(ifMatch));
     }
 
     @DeleteMapping("/{id}")
@@ -144,11 +358,17 @@ public class RecipeController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Recipe deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Recipe not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "409", description = "Recipe modified concurrently, retry",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class))),
+            @ApiResponse(responseCode = "412", description = "Recipe modified since the version given as If-Match",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectApiResponse.class)))
     })
     public void deleteRecipe(
             @Parameter(description = "Recipe unique identifier", example = "550e8400-e29b-41d4-a716-446655440000", required = true)
-            @PathVariable UUID id) {
-        recipeService.deleteRecipe(id);
+            @PathVariable UUID id,
+            @Parameter(description = "ETag of the version being deleted: the delete fails (412) if the recipe changed since")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        recipeService.deleteRecipe(id, RecipeETag.versionsMatching(ifMatch));
     }
 }
@@ -0,0 +1,69 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.recipe.db.entity.Instruction;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.entity.RecipeIngredient;
+import app.recipe.cookbook.recipe.db.repository.InstructionRepository;
+import app.recipe.cookbook.recipe.db.repository.RecipeIngredientRepository;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeFields;
+import app.recipe.cookbook.recipe.mapper.RecipeMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Second phase of the recipe reads: once the recipes are known, their children are loaded
+ * with one query per association for all of them, instead of lazily, recipe by recipe.
+ */
+@Component
+@RequiredArgsConstructor
+public class RecipeDtoLoader {
+
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final InstructionRepository instructionRepository;
+    private final RecipeMapper recipeMapper;
+
+    /**
+     * @return the DTOs of the recipes, in the same order, with ingredients and instructions
+     */
+    public List<RecipeDto> toDtos(List<Recipe> recipes) {
+        return toDtos(recipes, RecipeFields.ALL);
+    }
+
+    /**
+     * @return the DTOs of the recipes, in the same order, with only the children selected by the fields:
+     * an association left out is not queried, and left null
+     */
+    public List<RecipeDto> toDtos(List<Recipe> recipes, RecipeFields fields) {
+        if (recipes.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final List<UUID> recipeIds = recipes.stream().map(Recipe::getId).toList();
+        final Map<UUID, List<RecipeIngredient>> ingredientsByRecipe = fields.includesIngredients()
+                ? recipeIngredientRepository
+                        .findAllWithIngredientByRecipeIdIn(recipeIds)
+                        .stream()
+                        .collect(Collectors.groupingBy(RecipeIngredient::getRecipeId))
+                : null;
+        final Map<UUID, List<Instruction>> instructionsByRecipe = fields.includesInstructions()
+                ? instructionRepository
+                        .findAllByRecipeIdIn(recipeIds)
+                        .stream()
+                        .collect(Collectors.groupingBy(Instruction::getRecipeId))
+                : null;
+
+        return recipes.stream()
+                .map(recipe -> recipeMapper.toDto(
+                        recipe,
+                        ingredientsByRecipe != null ? ingredientsByRecipe.getOrDefault(recipe.getId(), List.of()) : null,
+                        instructionsByRecipe != null ? instructionsByRecipe.getOrDefault(recipe.getId(), List.of()) : null
+                ))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,51 @@
+package app.recipe.cookbook.recipe;
+
+import jakarta.annotation.Nullable;
+import org.springframework.http.ETag;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Entity tags of recipes: the version of the recipe, as a weak validator ({@code W/"3"}).
+ * <p>
+ * The tag names a version of the recipe, not a byte-exact representation: the body of a version varies with the
+ * selected fields, the media type and the content coding. It is weak so that Tomcat still gzips the responses
+ * carrying it (it never compresses a response with a strong ETag). Conditional writes compare the version the tag
+ * names, so the tag of a GET works as If-Match whether the client sends it back weak or strong.
+ */
+final class RecipeETag {
+
+    private RecipeETag() {
+    }
+
+    static String of(long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    /**
+     * Reads an If-Match header. Tags that are not recipe versions match no version.
+     *
+     * @param ifMatch the If-Match header, if any
+     * @return the versions the recipe may be at for the request to proceed (possibly none);
+     * null when any version is fine (no header, or {@code *})
+     */
+    @Nullable
+    static Set<Long> versionsMatching(@Nullable String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        final Set<Long> versions = new HashSet<>();
+        for (ETag eTag : ETag.parse(ifMatch)) {
+            if (eTag.isWildcard()) {
+                return null;
+            }
+            try {
+                versions.add(Long.parseLong(eTag.tag()));
+            } catch (NumberFormatException e) {
+                // Not a tag we issued: it matches no version
+            }
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,80 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.repository.RecipeRepository;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Export of the whole recipe catalogue as NDJSON (one {@link RecipeDto} per line).
+ * <p>
+ * Recipes are read from a server-side cursor and written chunk by chunk, so memory use stays flat
+ * whatever the catalogue size: each chunk's children are loaded with one query per association,
+ * written out, then evicted from the persistence context. Recipes are serialised straight into the response
+ * through a single generator, without buffering each of them as a byte array.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RecipeExportService {
+
+    private static final char NEW_LINE = '\n';
+
+    private final RecipeRepository recipeRepository;
+    private final RecipeDtoLoader recipeDtoLoader;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public void exportRecipes(OutputStream output) throws IOException {
+        // Lines are separated by hand, and flushed per chunk. The root value separator must be empty: null keeps
+        // the default space between values
+        final ObjectWriter writer = objectMapper.writer()
+                .withRootValueSeparator("")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        final List<Recipe> chunk = new ArrayList<>(RecipeRepository.STREAM_FETCH_SIZE);
+        long exported = 0;
+
+        try (Stream<Recipe> recipes = recipeRepository.streamAll();
+             JsonGenerator generator = writer.createGenerator(StreamUtils.nonClosing(output))) {
+            final Iterator<Recipe> iterator = recipes.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == RecipeRepository.STREAM_FETCH_SIZE || !iterator.hasNext()) {
+                    writeChunk(chunk, writer, generator);
+                    exported += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                }
+            }
+        }
+        log.info("Exported {} recipes", exported);
+    }
+
+    /**
+     * Writes the chunk and flushes it, so that the client (and the response compression) gets it right away.
+     */
+    private void writeChunk(List<Recipe> chunk, ObjectWriter writer, JsonGenerator generator) throws IOException {
+        for (RecipeDto recipe : recipeDtoLoader.toDtos(chunk)) {
+            writer.writeValue(generator, recipe);
+            generator.writeRaw(NEW_LINE);
+        }
+        generator.flush();
+    }
+}
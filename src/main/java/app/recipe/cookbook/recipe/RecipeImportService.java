@@ -0,0 +1,240 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.recipe.db.entity.Ingredient;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.repository.RecipeRepository;
+import app.recipe.cookbook.recipe.dto.request.SaveRecipeRequestDto;
+import app.recipe.cookbook.recipe.dto.response.RecipeImportReport;
+import app.recipe.cookbook.recipe.index.RecipeIngredientIndex;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of recipes from partner feeds.
+ * <p>
+ * The payload (a JSON array or NDJSON stream of {@link SaveRecipeRequestDto}) is read one recipe at a time,
+ * and recipes are written in chunks: one transaction and a handful of JDBC batches per chunk,
+ * so memory use depends on the chunk size and not on the payload size.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RecipeImportService {
+
+    private static final String INSERT_RECIPE = """
+            INSERT INTO recipes (id, title, description, servings, is_vegetarian, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+    private static final String INSERT_RECIPE_INGREDIENT = """
+            INSERT INTO recipes_ingredients (recipe_id, ingredient_id, quantity, unit)
+            VALUES (?, ?, ?, ?)
+            """;
+    private static final String INSERT_INSTRUCTION = """
+            INSERT INTO instructions (id, recipe_id, step_number, content)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RecipeService recipeService;
+    private final RecipeRepository recipeRepository;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+
+    @Value("${cookbook.import.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * Imports every recipe of the payload. Invalid recipes are reported and skipped; the others are imported.
+     *
+     * @throws IllegalArgumentException when the payload is not well-formed JSON.
+     * Chunks read before the malformed part are already imported.
+     */
+    public RecipeImportReport importRecipes(InputStream payload) throws IOException {
+        final RecipeImportReport report = new RecipeImportReport();
+        // Ingredients already resolved by committed chunks, by lowercase name: each name is resolved once per import
+        final Map<String, Ingredient> knownIngredients = new HashMap<>();
+        final List<ImportItem> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                // Only this recipe's tree is held in memory; binding it separately turns a bad item into a per-item error
+                final JsonNode node = parser.readValueAsTree();
+                final int itemIndex = index++;
+                final List<String> errors = new ArrayList<>();
+                final SaveRecipeRequestDto request = toRequest(node, errors);
+                if (errors.isEmpty()) {
+                    chunk.add(new ImportItem(itemIndex, request));
+                } else {
+                    report.addFailed(itemIndex, errors);
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    importChunk(chunk, knownIngredients, report);
+                    chunk.clear();
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            importChunk(chunk, knownIngredients, report);
+            throw new IllegalArgumentException(String.format(
+                    "Malformed import payload after item %d (%d recipes imported): %s",
+                    index, report.getImported(), e.getOriginalMessage()));
+        }
+        importChunk(chunk, knownIngredients, report);
+        // Rejected recipes are reported as soon as they are read, imported ones when their chunk commits
+        report.getItems().sort(Comparator.comparingInt(RecipeImportReport.ItemResult::getIndex));
+
+        log.info("Imported {} of {} recipes", report.getImported(), report.getTotal());
+        return report;
+    }
+
+    private SaveRecipeRequestDto toRequest(JsonNode node, List<String> errors) {
+        final SaveRecipeRequestDto request;
+        try {
+            request = objectMapper.treeToValue(node, SaveRecipeRequestDto.class);
+        } catch (JsonProcessingException e) {
+            errors.add(e.getOriginalMessage());
+            return null;
+        }
+        if (request == null) {
+            errors.add("Recipe must be a JSON object");
+            return null;
+        }
+
+        final Set<ConstraintViolation<SaveRecipeRequestDto>> violations = validator.validate(request);
+        for (ConstraintViolation<SaveRecipeRequestDto> violation : violations) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        // The batch bypasses the entity validation: a recipe the table would reject (e.g. more than 50 servings)
+        // must fail alone, not its whole chunk
+        if (violations.stream().noneMatch(violation -> violation.getPropertyPath().toString().equals("servingSize"))) {
+            validator.validateValue(Recipe.class, "servings", request.getServingSize())
+                    .forEach(violation -> errors.add("servingSize: " + violation.getMessage()));
+        }
+        if (request.getIngredients() == null || request.getIngredients().contains(null)) {
+            errors.add("ingredients: At least one ingredient is required, and none can be null");
+        } else {
+            // The same ingredient twice would violate the (recipe_id, ingredient_id) key of the whole chunk
+            final Set<String> names = new HashSet<>();
+            request.getIngredients().stream()
+                    .filter(ingredient -> ingredient.getName() != null)
+                    .filter(ingredient -> !names.add(ingredient.getName().toLowerCase()))
+                    .forEach(ingredient -> errors.add("ingredients: Duplicate ingredient " + ingredient.getName()));
+        }
+        if (request.getInstructions() == null || request.getInstructions().contains(null)) {
+            errors.add("instructions: At least one instruction is required, and none can be null");
+        }
+        return request;
+    }
+
+    /**
+     * Writes the chunk in one transaction. If it fails, every recipe of the chunk is reported as failed.
+     */
+    private void importChunk(List<ImportItem> chunk, Map<String, Ingredient> knownIngredients, RecipeImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // Ingredients created by this chunk are only reused once it has committed
+        final Map<String, Ingredient> chunkIngredients = new HashMap<>(knownIngredients);
+        try {
+            final List<UUID> recipeIds = transactionTemplate.execute(status -> writeChunk(chunk, chunkIngredients));
+            recipeIngredientIndex.refreshAfterCommit(recipeIds);
+            knownIngredients.putAll(chunkIngredients);
+            for (int i = 0; i < chunk.size(); i++) {
+                report.addImported(chunk.get(i).index(), recipeIds.get(i));
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to import a chunk of {} recipes", chunk.size(), e);
+            final String error = e.getMostSpecificCause().getMessage();
+            chunk.forEach(item -> report.addFailed(item.index(), List.of(error)));
+        }
+    }
+
+    private List<UUID> writeChunk(List<ImportItem> chunk, Map<String, Ingredient> ingredientsByName) {
+        resolveIngredients(chunk, ingredientsByName);
+
+        final Timestamp now = Timestamp.from(Instant.now());
+        final List<UUID> recipeIds = new ArrayList<>(chunk.size());
+        final List<Object[]> recipeRows = new ArrayList<>(chunk.size());
+        final List<Object[]> recipeIngredientRows = new ArrayList<>();
+        final List<Object[]> instructionRows = new ArrayList<>();
+
+        for (ImportItem item : chunk) {
+            final SaveRecipeRequestDto request = item.request();
+            final UUID recipeId = UUID.randomUUID();
+            recipeIds.add(recipeId);
+
+            boolean isVegetarian = true;
+            for (SaveRecipeRequestDto.IngredientRequestDto dto : request.getIngredients()) {
+                final Ingredient ingredient = ingredientsByName.get(dto.getName().toLowerCase());
+                isVegetarian &= Boolean.TRUE.equals(ingredient.getIsVegetarian());
+                recipeIngredientRows.add(new Object[]{recipeId, ingredient.getId(), dto.getQuantity(), dto.getUnit()});
+            }
+            for (int step = 0; step < request.getInstructions().size(); step++) {
+                instructionRows.add(new Object[]{
+                        UUID.randomUUID(), recipeId, step + 1, request.getInstructions().get(step).getContent()
+                });
+            }
+            recipeRows.add(new Object[]{
+                    recipeId, request.getTitle(), request.getDescription(), request.getServingSize(), isVegetarian, now, now
+            });
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_RECIPE, recipeRows);
+        jdbcTemplate.batchUpdate(INSERT_RECIPE_INGREDIENT, recipeIngredientRows);
+        jdbcTemplate.batchUpdate(INSERT_INSTRUCTION, instructionRows);
+        recipeRepository.refreshSearchColumnsFor(recipeIds.toArray(UUID[]::new));
+        return recipeIds;
+    }
+
+    /**
+     * Resolves (finding or creating) the ingredients of the chunk that are not known yet, in one batch.
+     */
+    private void resolveIngredients(List<ImportItem> chunk, Map<String, Ingredient> ingredientsByName) {
+        final List<SaveRecipeRequestDto.IngredientRequestDto> unknownIngredients = chunk.stream()
+                .flatMap(item -> item.request().getIngredients().stream())
+                .filter(dto -> !ingredientsByName.containsKey(dto.getName().toLowerCase()))
+                .collect(Collectors.toList());
+        if (unknownIngredients.isEmpty()) {
+            return;
+        }
+        recipeService.upsertIngredients(unknownIngredients)
+                .forEach(ingredient -> ingredientsByName.put(ingredient.getName().toLowerCase(), ingredient));
+    }
+
+    private record ImportItem(int index, SaveRecipeRequestDto request) {
+    }
+}
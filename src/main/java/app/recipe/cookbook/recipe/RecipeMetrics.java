@@ -0,0 +1,174 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters of the recipe service hot paths. Service methods are timed as a whole by {@link #OPERATION};
+ * the filtered search is broken down further, into the index lookup, the query and the loading of the page.
+ * <p>
+ * Tags only take values from small fixed sets (operation, view, filter shape, search path), never request values
+ * such as ingredient names or servings: the number of time series stays bounded whatever the traffic.
+ * The filter shape names which filters a search combines ({@code vegetarian+include}), or {@code none}.
+ */
+@Component
+public class RecipeMetrics {
+
+    /**
+     * Timer of every public service method, through {@code @Timed}, tagged by operation.
+     */
+    public static final String OPERATION = "cookbook.recipe.operation";
+    static final String SEARCH = "cookbook.recipe.search";
+    static final String SEARCH_INDEX = "cookbook.recipe.search.index";
+    static final String SEARCH_QUERY = "cookbook.recipe.search.query";
+    static final String SEARCH_LOAD = "cookbook.recipe.search.load";
+    static final String SEARCH_CANDIDATES = "cookbook.recipe.search.candidates";
+    static final String SEARCH_RETURNED = "cookbook.recipe.search.returned";
+    static final String INGREDIENT_UPSERT = "cookbook.ingredient.upsert";
+
+    /**
+     * How a search page was resolved: from the search cache, through the ingredient index, or by the database alone.
+     */
+    enum SearchPath {
+        CACHE, INDEX, DATABASE;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * What a search returns: full recipes, or their list view (summaries).
+     */
+    enum SearchView {
+        FULL, SUMMARY;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Counter ingredientHits;
+    private final Counter ingredientMisses;
+    private final Counter ingredientRaces;
+
+    public RecipeMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.ingredientHits = ingredientUpsertCounter("hit", "Ingredients of written recipes that already existed");
+        this.ingredientMisses = ingredientUpsertCounter("miss", "Ingredients inserted by recipe writes");
+        this.ingredientRaces = ingredientUpsertCounter("race", "Ingredients inserted concurrently by another write, read back");
+    }
+
+    private Counter ingredientUpsertCounter(String result, String description) {
+        return Counter.builder(INGREDIENT_UPSERT)
+                .tag("result", result)
+                .description(description)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the filters combined by the search, in a fixed order: one of at most 32 values
+     */
+    static String filterShape(RecipeSearchCriteria criteria) {
+        final StringJoiner shape = new StringJoiner("+").setEmptyValue("none");
+        if (criteria.getIsVegetarian() != null) {
+            shape.add("vegetarian");
+        }
+        if (criteria.getServingSize() != null || criteria.getMinServingSize() != null || criteria.getMaxServingSize() != null) {
+            shape.add("servings");
+        }
+        if (!criteria.getIncludeIngredientTerms().isEmpty()) {
+            shape.add("include");
+        }
+        if (!criteria.getExcludeIngredientTerms().isEmpty()) {
+            shape.add("exclude");
+        }
+        if (StringUtils.hasText(criteria.getInstructionsContent())) {
+            shape.add("instructions");
+        }
+        return shape.toString();
+    }
+
+    Timer.Sample startSearch() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Records a whole filtered search, along with the number of recipes of the page.
+     */
+    void recordSearch(Timer.Sample sample, SearchView view, String shape, SearchPath path, int returned) {
+        sample.stop(Timer.builder(SEARCH)
+                .tags("view", view.tag(), "shape", shape, "path", path.tag())
+                .description("Time spent in filtered recipe searches")
+                .register(meterRegistry));
+        DistributionSummary.builder(SEARCH_RETURNED)
+                .tags("view", view.tag(), "shape", shape, "path", path.tag())
+                .description("Recipes returned per search page")
+                .register(meterRegistry)
+                .record(returned);
+    }
+
+    /**
+     * Times the resolution of the ingredient filters by the in-memory index.
+     */
+    <T> T timeIndexLookup(String shape, Supplier<T> lookup) {
+        return Timer.builder(SEARCH_INDEX)
+                .tag("shape", shape)
+                .description("Time spent resolving ingredient filters in the ingredient index")
+                .register(meterRegistry)
+                .record(lookup);
+    }
+
+    /**
+     * Records the number of recipes the ingredient index found for the filters, of which the query keeps a page.
+     */
+    void recordCandidates(String shape, int candidates) {
+        DistributionSummary.builder(SEARCH_CANDIDATES)
+                .tag("shape", shape)
+                .description("Candidate recipes found by the ingredient index per search")
+                .register(meterRegistry)
+                .record(candidates);
+    }
+
+    /**
+     * Times the search query (findRecipesWithFilters), with ({@link SearchPath#INDEX}) or without the index candidates.
+     */
+    <T> T timeSearchQuery(SearchView view, String shape, SearchPath path, Supplier<T> query) {
+        return Timer.builder(SEARCH_QUERY)
+                .tags("view", view.tag(), "shape", shape, "path", path.tag())
+                .description("Time spent in the recipe search query")
+                .register(meterRegistry)
+                .record(query);
+    }
+
+    /**
+     * Times loading the recipes of a page (and their children, for the full view) into DTOs.
+     */
+    <T> T timeLoad(SearchView view, SearchPath path, Supplier<T> load) {
+        return Timer.builder(SEARCH_LOAD)
+                .tags("view", view.tag(), "path", path.tag())
+                .description("Time spent loading the recipes of a search page")
+                .register(meterRegistry)
+                .record(load);
+    }
+
+    /**
+     * @param hits ingredients found by name
+     * @param misses ingredients inserted
+     * @param races ingredients missing, but inserted concurrently by another write
+     */
+    void recordIngredientUpsert(int hits, int misses, int races) {
+        ingredientHits.increment(hits);
+        ingredientMisses.increment(misses);
+        ingredientRaces.increment(races);
+    }
+}
@@ -1,27 +1,51 @@
 package app.recipe.cookbook.recipe;
 
+import app.recipe.cookbook.common.dto.response.CursorPage;
+import app.recipe.cookbook.recipe.cache.RecipeCache;
+import app.recipe.cookbook.recipe.cache.RecipeSearchCache;
 import app.recipe.cookbook.recipe.db.entity.Ingredient;
 import app.recipe.cookbook.recipe.db.entity.Instruction;
 import app.recipe.cookbook.recipe.db.entity.RecipeIngredient;
+import app.recipe.cookbook.recipe.db.projection.RecipeSearchHit;
+import app.recipe.cookbook.recipe.db.projection.RecipeSummaryView;
 import app.recipe.cookbook.recipe.db.repository.IngredientRepository;
 import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.domain.RecipeSummaryDto;
 import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.dto.request.PatchRecipeRequestDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeCursor;
+import app.recipe.cookbook.recipe.dto.request.RecipeFields;
+import app.recipe.cookbook.recipe.dto.request.RecipeRankCursor;
 import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import app.recipe.cookbook.recipe.dto.request.RecipeTextSearchCriteria;
 import app.recipe.cookbook.recipe.dto.request.SaveRecipeRequestDto;
 import app.recipe.cookbook.common.exception.RecipeNotFoundException;
+import app.recipe.cookbook.common.exception.RecipeVersionMismatchException;
+import app.recipe.cookbook.recipe.index.RecipeIngredientIndex;
 import app.recipe.cookbook.recipe.mapper.IngredientMapper;
 import app.recipe.cookbook.recipe.mapper.InstructionMapper;
 import app.recipe.cookbook.recipe.mapper.RecipeMapper;
 import app.recipe.cookbook.recipe.db.repository.RecipeRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Nullable;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.util.CollectionUtils;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,93 +58,245 @@ public class RecipeService {
     private final InstructionMapper instructionMapper;
     private final RecipeRepository recipeRepository;
     private final RecipeMapper recipeMapper;
+    private final RecipeDtoLoader recipeDtoLoader;
+    private final RecipeCache recipeCache;
+    private final RecipeSearchCache recipeSearchCache;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final RecipeMetrics recipeMetrics;
 
-    // TODO: Worry about pagination later
-    public List<RecipeDto> searchRecipes(RecipeSearchCriteria searchCriteria) {
-        final List<Recipe> resultsFromQuery;
-        if (searchCriteria.shouldUseAdvancedSearch()) {
-            resultsFromQuery = recipeRepository.findRecipesWithFilters(
-                    searchCriteria.getIsVegetarian(),
-                    searchCriteria.getEffectiveServingSize(),
-                    searchCriteria.getMinServingSize(),
-                    searchCriteria.getMaxServingSize(),
-                    searchCriteria.getInstructionsContent()
-            );
-        } else {
-            resultsFromQuery = recipeRepository.findAll();
+    /**
+     * Returns one page of recipes matching the criteria, newest first.
+     * All filters (ingredient ones included) run in the database, so a single query
+     * reads the page plus one look-ahead recipe telling whether there is a next page.
+     * The children of the page are then loaded in bulk by {@link RecipeDtoLoader}.
+     * Pages are cached (as recipe IDs) in {@link RecipeSearchCache} until the next recipe write.
+     * <p>
+     * When the ingredient filters are selective enough, {@link RecipeIngredientIndex} resolves them in memory
+     * and the query only applies the other filters (and the ordering) to the recipes it found.
+     * <p>
+     * Timed per filter shape and per path (cache, index, database), see {@link RecipeMetrics}.
+     *
+     * @param fields properties of the response: the children it leaves out are not loaded
+     */
+    @Timed(value = RecipeMetrics.OPERATION, extraTags = {"operation", "search"})
+    public CursorPage<RecipeDto> searchRecipes(RecipeSearchCriteria searchCriteria, RecipeFields fields) {
+        return search(searchCriteria, RecipeMetrics.SearchView.FULL,
+                recipeRepository::findRecipesWithFilters, RecipeCursor::of,
+                recipeIds -> findDtosInOrder(recipeIds, fields), recipes -> recipeDtoLoader.toDtos(recipes, fields));
+    }
+
+    /**
+     * Same search as {@link #searchRecipes}, returning the list view of the recipes: their columns are read
+     * straight into {@link RecipeSummaryView} projections, without loading any recipe entity or child.
+     * Both views share the cached pages, which only hold recipe IDs.
+     */
+    @Timed(value = RecipeMetrics.OPERATION, extraTags = {"operation", "search-summaries"})
+    public CursorPage<RecipeSummaryDto> searchRecipeSummaries(RecipeSearchCriteria searchCriteria) {
+        return search(searchCriteria, RecipeMetrics.SearchView.SUMMARY,
+                recipeRepository::findSummariesWithFilters, RecipeCursor::of,
+                this::findSummariesInOrder, recipeMapper::toSummaryDtos);
+    }
+
+    /**
+     * @param query the search query, returning rows of type R
+     * @param cursorOf keyset position (and ID) of a row
+     * @param loadByIds items of a cached page, in the order of the IDs
+     * @param load items of the rows returned by the query
+     */
+    private <R, T> CursorPage<T> search(
+            RecipeSearchCriteria searchCriteria,
+            RecipeMetrics.SearchView view,
+            FilteredQuery<R> query,
+            Function<R, RecipeCursor> cursorOf,
+            Function<List<UUID>, List<T>> loadByIds,
+            Function<List<R>, List<T>> load) {
+        final Timer.Sample sample = recipeMetrics.startSearch();
+        final String shape = RecipeMetrics.filterShape(searchCriteria);
+
+        final RecipeSearchCache.Key cacheKey = recipeSearchCache.keyOf(searchCriteria);
+        final RecipeSearchCache.Page cachedPage = recipeSearchCache.getIfPresent(cacheKey);
+        if (cachedPage != null) {
+            final List<T> items = recipeMetrics.timeLoad(view, RecipeMetrics.SearchPath.CACHE,
+                    () -> loadByIds.apply(cachedPage.recipeIds()));
+            recipeMetrics.recordSearch(sample, view, shape, RecipeMetrics.SearchPath.CACHE, items.size());
+            return CursorPage.of(items, cachedPage.nextCursor());
         }
 
-        return resultsFromQuery.stream()
-                .filter(recipe -> matchesIngredientCriteria(recipe, searchCriteria))
-                .map(recipeMapper::toDto)
-                .collect(Collectors.toList());
+        final int pageSize = searchCriteria.getEffectivePageSize();
+        final RecipeCursor cursor = searchCriteria.decodeCursor();
+
+        final List<String> includeTerms = searchCriteria.getIncludeIngredientTerms();
+        final List<String> excludeTerms = searchCriteria.getExcludeIngredientTerms();
+        final Optional<List<UUID>> candidates = includeTerms.isEmpty() && excludeTerms.isEmpty()
+                ? Optional.empty()
+                : recipeMetrics.timeIndexLookup(shape, () -> recipeIngredientIndex.findCandidates(includeTerms, excludeTerms));
+        candidates.ifPresent(ids -> recipeMetrics.recordCandidates(shape, ids.size()));
+        final RecipeMetrics.SearchPath path = candidates.isPresent()
+                ? RecipeMetrics.SearchPath.INDEX
+                : RecipeMetrics.SearchPath.DATABASE;
+        if (candidates.isPresent() && candidates.get().isEmpty()) {
+            recipeSearchCache.put(cacheKey, new RecipeSearchCache.Page(List.of(), null));
+            recipeMetrics.recordSearch(sample, view, shape, path, 0);
+            return CursorPage.of(List.of(), null);
+        }
+
+        final List<R> resultsFromQuery = recipeMetrics.timeSearchQuery(view, shape, path, () -> query.find(
+                searchCriteria.getIsVegetarian(),
+                searchCriteria.getEffectiveServingSize(),
+                searchCriteria.getMinServingSize(),
+                searchCriteria.getMaxServingSize(),
+                searchCriteria.getInstructionsContentPattern(),
+                candidates.isPresent() ? new String[0] : searchCriteria.getIncludeIngredientPatterns(),
+                candidates.isPresent() ? new String[0] : searchCriteria.getExcludeIngredientPatterns(),
+                candidates.map(ids -> ids.toArray(UUID[]::new)).orElseGet(() -> new UUID[0]),
+                cursor.getCreatedAt(),
+                cursor.getId(),
+                pageSize + 1
+        ));
+
+        final boolean hasNext = resultsFromQuery.size() > pageSize;
+        final List<R> pageItems = hasNext ? resultsFromQuery.subList(0, pageSize) : resultsFromQuery;
+        final String nextCursor = hasNext
+                ? cursorOf.apply(pageItems.get(pageItems.size() - 1)).encode()
+                : null;
+
+        recipeSearchCache.put(cacheKey, new RecipeSearchCache.Page(
+                pageItems.stream().map(item -> cursorOf.apply(item).getId()).toList(), nextCursor));
+        final List<T> items = recipeMetrics.timeLoad(view, path, () -> load.apply(pageItems));
+        recipeMetrics.recordSearch(sample, view, shape, path, items.size());
+        return CursorPage.of(items, nextCursor);
     }
 
-    private boolean matchesIngredientCriteria(Recipe recipe, RecipeSearchCriteria searchCriteria) {
-        return matchesIncludeIngredients(recipe, searchCriteria.getIncludeIngredients())
-                && matchesExcludeIngredients(recipe, searchCriteria.getExcludeIngredients());
+    /**
+     * The filtered search query of {@link RecipeRepository}, for either view.
+     */
+    @FunctionalInterface
+    private interface FilteredQuery<R> {
+        List<R> find(
+                Boolean isVegetarian,
+                Integer servings,
+                Integer minServings,
+                Integer maxServings,
+                String instructionsPattern,
+                String[] includePatterns,
+                String[] excludePatterns,
+                UUID[] recipeIds,
+                Instant cursorCreatedAt,
+                UUID cursorId,
+                int limit);
     }
 
     /**
-     * Recipe must contain ALL specified ingredients.
-     *
-     * @param recipe recipe being inspected.
-     * @param includeIngredients list of ingredients that must all be in the recipe.
-     * @return true if all ingredients are in the recipe. false otherwise.
+     * Returns one page of recipes matching the free-text query, most relevant first.
+     * Ranking and paging run against the search_vector index; only the recipes of the page are then loaded.
      */
-    private boolean matchesIncludeIngredients(Recipe recipe, List<String> includeIngredients) {
-        if (CollectionUtils.isEmpty(includeIngredients)) {
-            return true; // No filter = match all
-        }
-        Set<String> recipeIngredientNames = recipe.getIngredients().stream()
-                .map(ri -> ri.getIngredient().getName().toLowerCase())
-                .collect(Collectors.toSet());
-        return includeIngredients.stream()
-                .allMatch(required ->
-                        recipeIngredientNames.stream()
-                                .anyMatch(recipeName -> recipeName.contains(required.toLowerCase().trim()))
-                );
+    @Timed(value = RecipeMetrics.OPERATION, extraTags = {"operation", "text-search"})
+    public CursorPage<RecipeDto> searchRecipesByText(RecipeTextSearchCriteria searchCriteria) {
+        final int pageSize = searchCriteria.getEffectivePageSize();
+        final RecipeRankCursor cursor = searchCriteria.decodeCursor();
+
+        final List<RecipeSearchHit> hits = recipeRepository.searchByText(
+                searchCriteria.toPrefixTsQuery(),
+                cursor.getRank(),
+                cursor.getId(),
+                pageSize + 1
+        );
+
+        final boolean hasNext = hits.size() > pageSize;
+        final List<RecipeSearchHit> pageHits = hasNext ? hits.subList(0, pageSize) : hits;
+        final String nextCursor = hasNext
+                ? RecipeRankCursor.of(pageHits.get(pageHits.size() - 1)).encode()
+                : null;
+
+        return CursorPage.of(
+                findDtosInOrder(pageHits.stream().map(RecipeSearchHit::getId).toList(), RecipeFields.ALL), nextCursor);
     }
 
     /**
-     * Recipe must NOT contain ANY specified ingredients.
-     *
-     * @param recipe recipe being inspected
-     * @param excludeIngredients list of ingredients (any of them) must not be in the recipe.
-     * @return true if any of the ingredients is in the recipe. false otherwise.
+     * Loads the given recipes (and their children, see {@link RecipeDtoLoader}) with a query per table, keeping the order of the IDs
+     * (recipes deleted in the meantime are left out).
+     */
+    private List<RecipeDto> findDtosInOrder(List<UUID> recipeIds, RecipeFields fields) {
+        // findAllById does not keep the order of the ids: put the recipes back in order
+        final Map<UUID, Recipe> recipesById = recipeRepository
+                .findAllById(recipeIds)
+                .stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+
+        return recipeDtoLoader.toDtos(recipeIds.stream()
+                .map(recipesById::get)
+                .filter(Objects::nonNull)
+                .toList(), fields);
+    }
+
+    /**
+     * List view of the given recipes, keeping the order of the IDs (recipes deleted in the meantime are left out).
+     */
+    private List<RecipeSummaryDto> findSummariesInOrder(List<UUID> recipeIds) {
+        final Map<UUID, RecipeSummaryView> summariesById = recipeRepository
+                .findSummariesByIdIn(recipeIds.toArray(UUID[]::new))
+                .stream()
+                .collect(Collectors.toMap(RecipeSummaryView::getId, Function.identity()));
+
+        return recipeMapper.toSummaryDtos(recipeIds.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /**
+     * Served from {@link RecipeCache} when possible: popular recipes are read far more often than written.
+     * A cache miss costs three queries (the recipe, then its children through {@link RecipeDtoLoader}).
+     * <p>
+     * When the fields leave children out, a cached recipe is still returned whole (the response only serialises
+     * the selected fields), but a cache miss only loads the selected children and caches nothing.
      */
-    private boolean matchesExcludeIngredients(Recipe recipe, List<String> excludeIngredients) {
-        if (CollectionUtils.isEmpty(excludeIngredients)) {
-            return true; // No filter = nothing to exclude
+    @Timed(value = RecipeMetrics.OPERATION, extraTags = {"operation", "get"})
+    public RecipeDto getRecipeById(UUID id, RecipeFields fields) {
+        if (fields.includesIngredients() && fields.includesInstructions()) {
+            return recipeCache.get(id, () -> loadRecipe(id, RecipeFields.ALL));
         }
-        Set<String> recipeIngredientNames = recipe.getIngredients().stream()
-                .map(ri -> ri.getIngredient().getName().toLowerCase())
-                .collect(Collectors.toSet());
-        return excludeIngredients.stream()
-                .noneMatch(excluded ->
-                        recipeIngredientNames.stream()
-                                .anyMatch(recipeName -> recipeName.contains(excluded.toLowerCase().trim()))
-                );
+        final RecipeDto cached = recipeCache.getIfPresent(id);
+        return cached != null ? cached : loadRecipe(id, fields);
     }
 
-    public RecipeDto getRecipeById(UUID id) {
+    private RecipeDto loadRecipe(UUID id, RecipeFields fields) {
         final Recipe recipe = recipeRepository
                 .findById(id)
                 .orElseThrow(() -> new RecipeNotFoundException("Recipe not found with ID: " + id));
-        return recipeMapper.toDto(recipe);
+        return recipeDtoLoader.toDtos(List.of(recipe), fields).get(0);
     }
 
+    /**
+     * Version of the recipe (its ETag), without loading it when cached, and without its children otherwise:
+     * conditional reads of an unchanged recipe cost at most one primary key lookup.
+     */
+    @Timed(value = RecipeMetrics.OPERATION, extraTags = {"operation", "get-version"})
+    public long getRecipeVersion(UUID id) {
+        final RecipeDto cached = recipeCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        return recipeRepository.findVersionById(id)
+                .orElseThrow(() -> new RecipeNotFoundException("Recipe not found with ID: " + id));
+    }
+
+    /**
+     * @param expectedVersions versions the recipe may be at (If-Match); null for any
+     */
     @Transactional
-    public void deleteRecipe(UUID id) {
+    @Timed(value = RecipeMetrics.OPERATION, extraTags = {"operation", "delete"})
+    public void deleteRecipe(UUID id, @Nullable Collection<Long> expectedVersions) {
         log.info("Deleting recipe with ID: {}", id);
-        if (!recipeRepository.existsById(id)) {
-            throw new RecipeNotFoundException("Recipe not found with ID: " + id);
-        }
-        recipeRepository.deleteById(id);
+        // Deleting the loaded entity checks its version as well: a concurrent update fails the delete
+        recipeRepository.delete(findForWrite(id, expectedVersions));
+        recipeCache.invalidateAfterCommit(id);
+        recipeIngredientIndex.refreshAfterCommit(List.of(id));
         log.info("Successfully deleted recipe with ID: {}", id);
     }
 
     @Transactional
+    @Timed(value = RecipeMetrics.OPERATION, extraTags = {"operation", "create"})
     public RecipeDto createRecipe(SaveRecipeRequestDto requestDto) {
         log.info("Creating new recipe with title: {}", requestDto.getTitle());
 
@@ -134,87 +310,216 @@ public class RecipeService {
         recipe.getInstructions().forEach(instruction -> instruction.setRecipeId(recipeId));
 
         // Save the updated recipe: cascade will handle ingredients and instructions
+        // Brand-new ID: nothing to invalidate in the recipe cache, which never caches a missing recipe
         final Recipe savedRecipe = recipeRepository.save(recipe);
+        recipeRepository.refreshSearchColumns(savedRecipe.getId());
+        recipeIngredientIndex.refreshAfterCommit(List.of(savedRecipe.getId()));
 
         log.info("Successfully created recipe with ID: {}", savedRecipe.getId());
         return recipeMapper.toDto(savedRecipe);
     }
 
+    /**
+     * Replaces the recipe with the request. Children are diffed against the current ones rather than rewritten:
+     * only the rows that actually change are inserted, updated or deleted, and instructions keep their IDs.
+     *
+     * @param expectedVersions versions the recipe may be at (If-Match); null for any
+     */
     @Transactional
-    public void updateRecipe(UUID id, SaveRecipeRequestDto requestDto) {
+    @Timed(value = RecipeMetrics.OPERATION, extraTags = {"operation", "update"})
+    public void updateRecipe(UUID id, SaveRecipeRequestDto requestDto, @Nullable Collection<Long> expectedVersions) {
         log.info("Updating recipe with ID: {}", id);
 
-        // Load the existing recipe
-        Recipe existingRecipe = recipeRepository.findById(id)
-                .orElseThrow(() -> new RecipeNotFoundException("Recipe not found with ID: " + id));
-
-        final List<Ingredient> processedIngredients = upsertIngredients(requestDto.getIngredients());
-        
-        // Calculate if recipe is vegetarian based on processed ingredients
-        boolean isVegetarian = processedIngredients.stream()
-                .allMatch(ingredient -> Boolean.TRUE.equals(ingredient.getIsVegetarian()));
+        final Recipe existingRecipe = findForWrite(id, expectedVersions);
 
-        // Update ONLY the basic recipe fields (no child entities)
         existingRecipe.setTitle(requestDto.getTitle());
         existingRecipe.setDescription(requestDto.getDescription());
         existingRecipe.setServings(requestDto.getServingSize());
-        existingRecipe.setIsVegetarian(isVegetarian);
-
-        // Clear existing collections (triggers orphan removal)
-        existingRecipe.getIngredients().clear();
-        existingRecipe.getInstructions().clear();
-        
-        // Flush to ensure deletions are done before inserts
-        recipeRepository.flush();
-
-        // Create new collections using mappers
-        List<RecipeIngredient> newIngredients = ingredientMapper.fromIngredientsAndDtos(
-                processedIngredients,
-                requestDto.getIngredients(),
-                id
-        );
-        List<Instruction> newInstructions = instructionMapper.fromRequestDto(
-                requestDto.getInstructions(),
-                id
-        );
+        mergeIngredients(existingRecipe, requestDto.getIngredients());
+        mergeInstructions(existingRecipe, requestDto.getInstructions());
 
-        // Set up bidirectional relationships
-        newIngredients.forEach(ri -> ri.setRecipe(existingRecipe));
-        newInstructions.forEach(instruction -> instruction.setRecipe(existingRecipe));
+        afterUpdate(existingRecipe, true);
+    }
 
-        // Add new collections
-        existingRecipe.getIngredients().addAll(newIngredients);
-        existingRecipe.getInstructions().addAll(newInstructions);
+    /**
+     * Updates the fields present in the request, leaving the others unchanged. Ingredients and instructions,
+     * when present, are diffed against the current ones like in {@link #updateRecipe}.
+     *
+     * @param expectedVersions versions the recipe may be at (If-Match); null for any
+     */
+    @Transactional
+    @Timed(value = RecipeMetrics.OPERATION, extraTags = {"operation", "patch"})
+    public void patchRecipe(UUID id, PatchRecipeRequestDto requestDto, @Nullable Collection<Long> expectedVersions) {
+        log.info("Patching recipe with ID: {}", id);
 
-        // Save the updated recipe
-        final Recipe savedRecipe = recipeRepository.save(existingRecipe);
+        final Recipe existingRecipe = findForWrite(id, expectedVersions);
 
-        log.info("Successfully updated recipe with ID: {}", savedRecipe.getId());
+        if (requestDto.getTitle() != null) {
+            existingRecipe.setTitle(requestDto.getTitle());
+        }
+        if (requestDto.getDescription() != null) {
+            existingRecipe.setDescription(requestDto.getDescription());
+        }
+        if (requestDto.getServingSize() != null) {
+            existingRecipe.setServings(requestDto.getServingSize());
+        }
+        if (requestDto.getIngredients() != null) {
+            mergeIngredients(existingRecipe, requestDto.getIngredients());
+        }
+        if (requestDto.getInstructions() != null) {
+            mergeInstructions(existingRecipe, requestDto.getInstructions());
+        }
+
+        afterUpdate(existingRecipe, requestDto.getIngredients() != null);
     }
 
     /**
-     * Business logic: Process ingredients by finding existing ones or creating new ones
+     * @throws RecipeNotFoundException when the recipe does not exist
+     * @throws RecipeVersionMismatchException when the recipe is not at one of the expected versions
      */
-    private List<Ingredient> upsertIngredients(List<SaveRecipeRequestDto.IngredientRequestDto> ingredientDtos) {
-        // N + 1 problem, although there are a few steps so no need to further optimize for now.
-        return ingredientDtos.stream()
-                .map(this::upsertIngredient)
-                .collect(Collectors.toList());
+    private Recipe findForWrite(UUID id, @Nullable Collection<Long> expectedVersions) {
+        final Recipe recipe = recipeRepository.findById(id)
+                .orElseThrow(() -> new RecipeNotFoundException("Recipe not found with ID: " + id));
+        if (expectedVersions != null && !expectedVersions.contains(recipe.getVersion())) {
+            throw new RecipeVersionMismatchException(
+                    "Recipe with ID: " + id + " has been modified, its current version is " + recipe.getVersion());
+        }
+        return recipe;
+    }
+
+    /**
+     * The recipe is managed: dirty checking writes the changed columns and cascades the new children at flush
+     * (no save, which would merge the new children and select each of them first).
+     * <p>
+     * Changes to children alone do not make the recipe dirty: touching updated_at does, so that every update bumps
+     * the version (the ETag), and concurrent updates of the same recipe fail their version check instead of interleaving.
+     */
+    private void afterUpdate(Recipe recipe, boolean ingredientsChanged) {
+        recipe.setUpdatedAt(Instant.now());
+        recipeRepository.refreshSearchColumns(recipe.getId());
+        recipeCache.invalidateAfterCommit(recipe.getId());
+        // The index refresh makes the cached searches stale itself, once the index is up to date
+        if (ingredientsChanged) {
+            recipeIngredientIndex.refreshAfterCommit(List.of(recipe.getId()));
+        } else {
+            recipeSearchCache.invalidateAllAfterCommit();
+        }
+
+        log.info("Successfully updated recipe with ID: {}", recipe.getId());
     }
 
     /**
-     * Business logic Find existing ingredient by name or create a new one
+     * Diffs the recipe ingredients against the requested ones, keyed by (recipe_id, ingredient_id): new ingredients
+     * are added, quantity and unit of kept ones are updated in place (unchanged values write nothing), and the others
+     * are removed (orphan removal). The vegetarian flag is recalculated from the requested ingredients.
+     *
+     * @throws IllegalArgumentException when the same ingredient is requested twice
      */
-    private Ingredient upsertIngredient(SaveRecipeRequestDto.IngredientRequestDto dto) {
-        return ingredientRepository.findByNameIgnoreCase(dto.getName())
-                .orElseGet(() -> {
-                    log.debug("Creating new ingredient: {}", dto.getName());
-                    Ingredient newIngredient = Ingredient.builder()
-                            .id(UUID.randomUUID()) // Manually assign ID
-                            .name(dto.getName())
-                            .isVegetarian(dto.getIsVegetarian())
-                            .build();
-                    return ingredientRepository.save(newIngredient);
-                });
+    private void mergeIngredients(Recipe recipe, List<SaveRecipeRequestDto.IngredientRequestDto> ingredientDtos) {
+        final List<Ingredient> processedIngredients = upsertIngredients(ingredientDtos);
+
+        final Map<UUID, RecipeIngredient> currentByIngredientId = recipe.getIngredients().stream()
+                .collect(Collectors.toMap(RecipeIngredient::getIngredientId, Function.identity()));
+        final Set<UUID> requestedIngredientIds = new HashSet<>();
+        for (int i = 0; i < ingredientDtos.size(); i++) {
+            final Ingredient ingredient = processedIngredients.get(i);
+            final SaveRecipeRequestDto.IngredientRequestDto dto = ingredientDtos.get(i);
+            if (!requestedIngredientIds.add(ingredient.getId())) {
+                throw new IllegalArgumentException("Duplicate ingredient: " + dto.getName());
+            }
+
+            final RecipeIngredient current = currentByIngredientId.get(ingredient.getId());
+            if (current == null) {
+                final RecipeIngredient added = ingredientMapper.fromIngredientAndDto(ingredient, dto, recipe.getId());
+                added.setRecipe(recipe);
+                recipe.getIngredients().add(added);
+            } else {
+                // 2 and 2.00 are the same quantity: keep the stored one rather than rewrite the row
+                if (current.getQuantity() == null || dto.getQuantity() == null
+                        || current.getQuantity().compareTo(dto.getQuantity()) != 0) {
+                    current.setQuantity(dto.getQuantity());
+                }
+                current.setUnit(dto.getUnit());
+            }
+        }
+        recipe.getIngredients().removeIf(ri -> !requestedIngredientIds.contains(ri.getIngredientId()));
+
+        recipe.setIsVegetarian(processedIngredients.stream()
+                .allMatch(ingredient -> Boolean.TRUE.equals(ingredient.getIsVegetarian())));
+    }
+
+    /**
+     * Diffs the recipe instructions against the requested ones, keyed by (recipe_id, step_number): the content of
+     * existing steps is updated in place (keeping their ID), extra steps are added and missing ones removed.
+     * Added and removed step numbers never overlap, so the unique key holds without flushing in between.
+     */
+    private void mergeInstructions(Recipe recipe, List<SaveRecipeRequestDto.InstructionRequestDto> instructionDtos) {
+        final Map<Integer, Instruction> currentByStepNumber = recipe.getInstructions().stream()
+                .collect(Collectors.toMap(Instruction::getStepNumber, Function.identity()));
+        for (int i = 0; i < instructionDtos.size(); i++) {
+            final int stepNumber = i + 1;
+            final Instruction current = currentByStepNumber.get(stepNumber);
+            if (current == null) {
+                final Instruction added = instructionMapper.fromRequestDto(instructionDtos.get(i), recipe.getId(), stepNumber);
+                added.setRecipe(recipe);
+                recipe.getInstructions().add(added);
+            } else {
+                current.setContent(instructionDtos.get(i).getContent());
+            }
+        }
+        recipe.getInstructions().removeIf(instruction -> instruction.getStepNumber() > instructionDtos.size());
+    }
+
+    /**
+     * Business logic: Process ingredients by finding existing ones or creating new ones.
+     * Names are matched ignoring case; all of them are resolved with one query and the missing
+     * ones are inserted with one more, whatever the number of ingredients.
+     *
+     * @return the ingredient of each DTO, in the same order as the DTOs
+     */
+    List<Ingredient> upsertIngredients(List<SaveRecipeRequestDto.IngredientRequestDto> ingredientDtos) {
+        // First DTO of each (case-insensitive) name decides how a new ingredient is created
+        final Map<String, SaveRecipeRequestDto.IngredientRequestDto> dtosByName = ingredientDtos.stream()
+                .collect(Collectors.toMap(
+                        dto -> dto.getName().toLowerCase(),
+                        Function.identity(),
+                        (first, duplicate) -> first,
+                        LinkedHashMap::new
+                ));
+
+        final Map<String, Ingredient> ingredientsByName = new HashMap<>();
+        ingredientRepository.findAllByLowerCaseNameIn(dtosByName.keySet().toArray(String[]::new))
+                .forEach(ingredient -> ingredientsByName.put(ingredient.getName().toLowerCase(), ingredient));
+
+        final List<SaveRecipeRequestDto.IngredientRequestDto> missingDtos = dtosByName.entrySet().stream()
+                .filter(entry -> !ingredientsByName.containsKey(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .toList();
+
+        int concurrentlyCreated = 0;
+        if (!missingDtos.isEmpty()) {
+            log.debug("Creating {} new ingredient(s)", missingDtos.size());
+            ingredientRepository.insertMissing(
+                    missingDtos.stream().map(SaveRecipeRequestDto.IngredientRequestDto::getName).toArray(String[]::new),
+                    missingDtos.stream().map(SaveRecipeRequestDto.IngredientRequestDto::getIsVegetarian).toArray(Boolean[]::new)
+            ).forEach(ingredient -> ingredientsByName.put(ingredient.getName().toLowerCase(), ingredient));
+
+            // Names skipped by the insert were created concurrently by another request: read them back
+            final String[] concurrentlyCreatedNames = missingDtos.stream()
+                    .map(dto -> dto.getName().toLowerCase())
+                    .filter(name -> !ingredientsByName.containsKey(name))
+                    .toArray(String[]::new);
+            concurrentlyCreated = concurrentlyCreatedNames.length;
+            if (concurrentlyCreatedNames.length > 0) {
+                ingredientRepository.findAllByLowerCaseNameIn(concurrentlyCreatedNames)
+                        .forEach(ingredient -> ingredientsByName.put(ingredient.getName().toLowerCase(), ingredient));
+            }
+        }
+        recipeMetrics.recordIngredientUpsert(
+                dtosByName.size() - missingDtos.size(), missingDtos.size() - concurrentlyCreated, concurrentlyCreated);
+
+        return ingredientDtos.stream()
+                .map(dto -> ingredientsByName.get(dto.getName().toLowerCase()))
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,96 @@
+package app.recipe.cookbook.recipe.cache;
+
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, in-process read-through cache of recipes by ID.
+ * <p>
+ * Entries are evicted by size and TTL; hits, misses and evictions are published as the {@code cache.*}
+ * metrics of the "recipes" cache. Writers call {@link #invalidateAfterCommit(UUID)}, so once a write has
+ * committed no read can return (or cache) the recipe as it was before the write.
+ */
+@Component
+public class RecipeCache {
+
+    private static final String CACHE_NAME = "recipes";
+
+    private final Cache<UUID, RecipeDto> cache;
+
+    /**
+     * Incremented on every invalidation: a recipe loaded while an invalidation happened may be stale and is not kept.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public RecipeCache(
+            @Value("${cookbook.cache.recipes.max-size:10000}") long maxSize,
+            @Value("${cookbook.cache.recipes.ttl:10m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * @param loader loads the recipe on a cache miss; exceptions are propagated and nothing is cached
+     */
+    public RecipeDto get(UUID id, Supplier<RecipeDto> loader) {
+        final RecipeDto cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long invalidationsBeforeLoad = invalidations.get();
+        final RecipeDto loaded = loader.get();
+        cache.put(id, loaded);
+        // A write committed while we were loading: what we loaded may predate it
+        if (invalidations.get() != invalidationsBeforeLoad) {
+            cache.asMap().remove(id, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * @return the cached recipe, or null when it is not cached (nothing is loaded)
+     */
+    public RecipeDto getIfPresent(UUID id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * Invalidates the recipe once the current transaction commits (right away when there is no transaction).
+     * Invalidating earlier would let a concurrent read cache the recipe again before the write is visible.
+     */
+    public void invalidateAfterCommit(UUID id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(id);
+            }
+        });
+    }
+
+    private void invalidate(UUID id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+}
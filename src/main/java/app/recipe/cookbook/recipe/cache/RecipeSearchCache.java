@@ -0,0 +1,130 @@
+package app.recipe.cookbook.recipe.cache;
+
+import app.recipe.cookbook.recipe.dto.request.RecipeCursor;
+import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of recipe search pages: the IDs of the recipes of a page (not the recipes themselves),
+ * keyed by the canonical form of the search criteria.
+ * <p>
+ * Any recipe write can change any search result, so writes do not evict entries: they bump a generation
+ * that is part of every key, and entries of older generations are never read again (they age out by size / TTL).
+ * The generation is read before the search query runs, so a page computed while a write committed is filed
+ * under the old generation.
+ */
+@Component
+public class RecipeSearchCache {
+
+    private static final String CACHE_NAME = "recipeSearches";
+
+    private final Cache<Key, Page> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public RecipeSearchCache(
+            @Value("${cookbook.cache.recipe-searches.max-size:1000}") long maxSize,
+            @Value("${cookbook.cache.recipe-searches.ttl:5m}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .description("Share of lookups served from the cache since startup")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return the key of the search in the current generation. Equivalent criteria (e.g. ingredient lists
+     * differing only in case, spacing, order or duplicates) share the same key.
+     */
+    public Key keyOf(RecipeSearchCriteria criteria) {
+        return new Key(
+                generation.get(),
+                criteria.getIsVegetarian(),
+                criteria.getEffectiveServingSize(),
+                criteria.getMinServingSize(),
+                criteria.getMaxServingSize(),
+                criteria.getInstructionsContentPattern(),
+                sorted(criteria.getIncludeIngredientPatterns()),
+                sorted(criteria.getExcludeIngredientPatterns()),
+                criteria.decodeCursor(),
+                criteria.getEffectivePageSize()
+        );
+    }
+
+    /**
+     * @return the cached page, or null when the search has to run
+     */
+    public Page getIfPresent(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(Key key, Page page) {
+        cache.put(key, page);
+    }
+
+    /**
+     * Makes every cached search stale once the current transaction commits (right away when there is no transaction).
+     */
+    public void invalidateAllAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Makes every cached search stale right away. For callbacks already running after the commit of a write.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+    }
+
+    private static List<String> sorted(String[] patterns) {
+        return Arrays.stream(patterns).sorted().toList();
+    }
+
+    public record Key(
+            long generation,
+            Boolean isVegetarian,
+            Integer servingSize,
+            Integer minServingSize,
+            Integer maxServingSize,
+            String instructionsPattern,
+            List<String> includePatterns,
+            List<String> excludePatterns,
+            RecipeCursor cursor,
+            int pageSize) {
+    }
+
+    /**
+     * @param recipeIds IDs of the recipes of the page, in page order
+     * @param nextCursor cursor of the next page, null on the last page
+     */
+    public record Page(List<UUID> recipeIds, String nextCursor) {
+    }
+}
@@ -0,0 +1,32 @@
+package app.recipe.cookbook.recipe.db.entity;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Base of the entities whose ID is assigned by the application (UUIDs) instead of generated by the database.
+ * <p>
+ * Spring Data can't tell from an assigned ID whether the entity is new: save() would merge it, which SELECTs the row
+ * (and every cascaded child) before inserting it. Entities are new until persisted or loaded instead, so save()
+ * persists them straight away.
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> implements Persistable<ID> {
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
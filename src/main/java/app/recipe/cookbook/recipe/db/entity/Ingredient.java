@@ -5,6 +5,7 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
@@ -14,10 +15,11 @@ import java.util.UUID;
 @Entity
 @Table(name = "ingredients")
 @Data
+@EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Ingredient {
+public class Ingredient extends AssignedIdEntity<UUID> {
 
     // Main fields
     @Id
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.util.UUID;
@@ -13,10 +14,11 @@ import java.util.UUID;
 @Entity
 @Table(name = "instructions", uniqueConstraints = @UniqueConstraint(columnNames = {"recipe_id", "step_number"}))
 @Data
+@EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Instruction {
+public class Instruction extends AssignedIdEntity<UUID> {
 
     // Main Fields
     @Id
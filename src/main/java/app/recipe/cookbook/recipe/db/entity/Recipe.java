@@ -8,6 +8,7 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -23,10 +24,11 @@ import java.util.UUID;
 @Entity
 @Table(name = "recipes")
 @Data
+@EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Recipe {
+public class Recipe extends AssignedIdEntity<UUID> {
 
     // Main fields
     @Id
@@ -65,6 +67,14 @@ public class Recipe {
     @Column(name = "updated_at", nullable = false)
     private Instant updatedAt;
 
+    /**
+     * Optimistic lock, incremented by every update of the recipe or of its children. Exposed as the ETag of the recipe.
+     * Null until the recipe is persisted.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Relationship fields
     @OneToMany(mappedBy = "recipe", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
@@ -15,11 +15,12 @@ import java.util.UUID;
 @Entity
 @Table(name = "recipes_ingredients")
 @Data
+@EqualsAndHashCode(callSuper = false)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @IdClass(RecipeIngredient.RecipeIngredientId.class)
-public class RecipeIngredient {
+public class RecipeIngredient extends AssignedIdEntity<RecipeIngredient.RecipeIngredientId> {
 
     // Main fields
     @Id
@@ -47,6 +48,11 @@ public class RecipeIngredient {
     @JoinColumn(name = "ingredient_id", insertable = false, updatable = false)
     private Ingredient ingredient;
 
+    @Override
+    public RecipeIngredientId getId() {
+        return new RecipeIngredientId(recipeId, ingredientId);
+    }
+
     // Composite primary key definition
     @Data
     @NoArgsConstructor
@@ -0,0 +1,13 @@
+package app.recipe.cookbook.recipe.db.projection;
+
+import java.util.UUID;
+
+/**
+ * A recipe matching a full-text search, along with its relevance (higher is more relevant).
+ */
+public interface RecipeSearchHit {
+
+    UUID getId();
+
+    float getRank();
+}
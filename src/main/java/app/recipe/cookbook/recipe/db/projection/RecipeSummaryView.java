@@ -0,0 +1,25 @@
+package app.recipe.cookbook.recipe.db.projection;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The columns of a recipe shown by list screens, read straight from the recipes table.
+ */
+public interface RecipeSummaryView {
+
+    UUID getId();
+
+    String getTitle();
+
+    Integer getServings();
+
+    Boolean getIsVegetarian();
+
+    int getIngredientCount();
+
+    /**
+     * Keyset position of the recipe, for the cursor of the next page
+     */
+    Instant getCreatedAt();
+}
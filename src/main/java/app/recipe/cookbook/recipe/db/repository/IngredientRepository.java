@@ -2,12 +2,51 @@ package app.recipe.cookbook.recipe.db.repository;
 
 import app.recipe.cookbook.recipe.db.entity.Ingredient;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface IngredientRepository extends JpaRepository<Ingredient, UUID> {
-    Optional<Ingredient> findByNameIgnoreCase(String name);
+
+    /**
+     * SQL of {@link #findAllByLowerCaseNameIn}, also explained by the query plan tests.
+     */
+    String FIND_ALL_BY_LOWER_CASE_NAME_IN = """
+        SELECT i.* FROM ingredients i
+        WHERE lower(i.name) = ANY (CAST(:names AS text[]))
+        """;
+
+    /**
+     * Served by the unique index on lower(name).
+     *
+     * @param lowerCaseNames ingredient names, already lowercased
+     * @return the ingredients whose name matches any of the given names, ignoring case
+     */
+    @Query(value = FIND_ALL_BY_LOWER_CASE_NAME_IN, nativeQuery = true)
+    List<Ingredient> findAllByLowerCaseNameIn(@Param("names") String[] lowerCaseNames);
+
+    /**
+     * Inserts all the given ingredients in a single statement.
+     * Names that already exist (ignoring case), e.g. created concurrently by another request, are skipped
+     * instead of violating the unique index on lower(name), and are not part of the result.
+     *
+     * @param names names of the new ingredients
+     * @param isVegetarian vegetarian flag of each new ingredient, in the same order as names
+     * @return the ingredients actually inserted
+     */
+    @Query(value = """
+        INSERT INTO ingredients (id, name, is_vegetarian)
+        SELECT gen_random_uuid(), new_ingredient.name, new_ingredient.is_vegetarian
+        FROM unnest(CAST(:names AS text[]), CAST(:isVegetarian AS boolean[])) AS new_ingredient(name, is_vegetarian)
+        ON CONFLICT (lower(name)) DO NOTHING
+        RETURNING *
+        """, nativeQuery = true)
+    List<Ingredient> insertMissing(
+            @Param("names") String[] names,
+            @Param("isVegetarian") Boolean[] isVegetarian
+    );
 }
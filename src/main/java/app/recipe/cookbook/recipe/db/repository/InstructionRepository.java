@@ -0,0 +1,18 @@
+package app.recipe.cookbook.recipe.db.repository;
+
+import app.recipe.cookbook.recipe.db.entity.Instruction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface InstructionRepository extends JpaRepository<Instruction, UUID> {
+
+    /**
+     * @return the instructions of all the given recipes, in a single query
+     */
+    List<Instruction> findAllByRecipeIdIn(Collection<UUID> recipeIds);
+}
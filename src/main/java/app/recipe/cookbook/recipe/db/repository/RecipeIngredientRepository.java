@@ -0,0 +1,21 @@
+package app.recipe.cookbook.recipe.db.repository;
+
+import app.recipe.cookbook.recipe.db.entity.RecipeIngredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, RecipeIngredient.RecipeIngredientId> {
+
+    /**
+     * @return the ingredients of all the given recipes, with their {@link RecipeIngredient#getIngredient()} loaded, in a single query
+     */
+    @Query("SELECT ri FROM RecipeIngredient ri JOIN FETCH ri.ingredient WHERE ri.recipeId IN :recipeIds")
+    List<RecipeIngredient> findAllWithIngredientByRecipeIdIn(@Param("recipeIds") Collection<UUID> recipeIds);
+}
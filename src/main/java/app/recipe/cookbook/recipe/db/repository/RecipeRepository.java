@@ -1,38 +1,227 @@
 package app.recipe.cookbook.recipe.db.repository;
 
 import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.projection.RecipeSearchHit;
+import app.recipe.cookbook.recipe.db.projection.RecipeSummaryView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface RecipeRepository extends JpaRepository<Recipe, UUID> {
 
     /**
-     * Advanced search with multiple optional filters.
-     * Other complex filters will be done in application side (after these records are retrieved).
+     * Rows fetched per round trip by {@link #streamAll()}.
      */
-    @Query("""
-        SELECT DISTINCT r FROM Recipe r
-        LEFT JOIN FETCH r.ingredients ri
-        LEFT JOIN FETCH ri.ingredient
-        LEFT JOIN r.instructions inst
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Columns of {@link RecipeSummaryView}: the ingredient count comes from the ingredient_ids signature,
+     * without reading recipes_ingredients.
+     */
+    String SUMMARY_COLUMNS = """
+        r.id AS "id", r.title AS "title", r.servings AS "servings", r.is_vegetarian AS "isVegetarian",
+        cardinality(r.ingredient_ids) AS "ingredientCount", r.created_at AS "createdAt"
+        """;
+
+    /**
+     * Ingredient patterns resolved once per query, ahead of the SELECT.
+     */
+    String INGREDIENT_PATTERNS = """
+        WITH included AS MATERIALIZED (
+            -- one row per include pattern: the ingredients it matches (empty when none)
+            SELECT coalesce(array_agg(i.id) FILTER (WHERE i.id IS NOT NULL), '{}') AS ingredient_ids
+            FROM unnest(CAST(:includePatterns AS text[])) AS term(pattern)
+            LEFT JOIN ingredients i ON lower(i.name) LIKE term.pattern
+            GROUP BY term.pattern
+        ), excluded AS MATERIALIZED (
+            SELECT coalesce(array_agg(i.id), '{}') AS ingredient_ids
+            FROM ingredients i
+            WHERE lower(i.name) LIKE ANY (CAST(:excludePatterns AS text[]))
+        )
+        """;
+
+    /**
+     * Filters shared by the full and the summary searches: everything after the SELECT list, using the patterns of
+     * {@link #INGREDIENT_PATTERNS}.
+     */
+    String WITH_FILTERS = """
+        FROM recipes r
         WHERE
-            (:isVegetarian IS NULL OR r.isVegetarian = :isVegetarian)
+            (:isVegetarian IS NULL OR r.is_vegetarian = :isVegetarian)
             AND (:servings IS NULL OR r.servings = :servings)
             AND (:minServings IS NULL OR r.servings >= :minServings)
             AND (:maxServings IS NULL OR r.servings <= :maxServings)
-            AND (:instructionsContent IS NULL OR inst.content LIKE CONCAT('%', :instructionsContent, '%'))
-        """)
+            AND (:instructionsPattern IS NULL OR EXISTS (
+                SELECT 1 FROM instructions inst
+                WHERE inst.recipe_id = r.id
+                  AND inst.content LIKE :instructionsPattern))
+            AND NOT EXISTS (
+                SELECT 1 FROM included
+                WHERE NOT (r.ingredient_ids && included.ingredient_ids))
+            AND NOT (r.ingredient_ids && (SELECT excluded.ingredient_ids FROM excluded))
+            AND (cardinality(CAST(:recipeIds AS uuid[])) = 0 OR r.id = ANY (CAST(:recipeIds AS uuid[])))
+            AND (r.created_at, r.id) < (:cursorCreatedAt, :cursorId)
+        ORDER BY r.created_at DESC, r.id DESC
+        LIMIT :limit
+        """;
+
+    /**
+     * SQL of {@link #findRecipesWithFilters}, also explained by the query plan tests.
+     */
+    String FIND_RECIPES_WITH_FILTERS = INGREDIENT_PATTERNS + "SELECT r.*\n" + WITH_FILTERS;
+
+    /**
+     * SQL of {@link #findSummariesWithFilters}.
+     */
+    String FIND_SUMMARIES_WITH_FILTERS = INGREDIENT_PATTERNS + "SELECT " + SUMMARY_COLUMNS + WITH_FILTERS;
+
+    /**
+     * Advanced search with multiple optional filters, one keyset page at a time.
+     * Results are ordered newest first; pass the createdAt / id of the last recipe
+     * of the previous page to continue right after it.
+     * <p>
+     * Ingredient filters are evaluated here as well, so only matching recipes leave the database:
+     * <ul>
+     *     <li>include: the recipe has, for EVERY pattern, at least one ingredient whose lowercase name matches it</li>
+     *     <li>exclude: the recipe has NO ingredient whose lowercase name matches ANY of the patterns</li>
+     * </ul>
+     * Each pattern is resolved to the IDs of the ingredients it matches once per query; recipes are then checked
+     * against their precomputed ingredient_ids signature (array overlaps), without joining their ingredients.
+     * When the ingredient filters were already resolved to recipes (see RecipeIngredientIndex), the search is
+     * restricted to those recipes instead, with no ingredient patterns.
+     * Arrays are never null; an empty array disables the corresponding filter.
+     * <p>
+     * The keyset is compared as a row, so that the (created_at, id) index serves both the cursor and the ordering.
+     */
+    @Query(value = FIND_RECIPES_WITH_FILTERS, nativeQuery = true)
     List<Recipe> findRecipesWithFilters(
             @Param("isVegetarian") Boolean isVegetarian,
             @Param("servings") Integer servings,
             @Param("minServings") Integer minServings,
             @Param("maxServings") Integer maxServings,
-            @Param("instructionsContent") String instructionsContent
+            @Param("instructionsPattern") String instructionsPattern,
+            @Param("includePatterns") String[] includePatterns,
+            @Param("excludePatterns") String[] excludePatterns,
+            @Param("recipeIds") UUID[] recipeIds,
+            @Param("cursorCreatedAt") Instant cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            @Param("limit") int limit
     );
+
+    /**
+     * Same search as {@link #findRecipesWithFilters}, returning the columns of the list view only: no recipe entity
+     * (nor its children) is loaded into the persistence context.
+     */
+    @Query(value = FIND_SUMMARIES_WITH_FILTERS, nativeQuery = true)
+    List<RecipeSummaryView> findSummariesWithFilters(
+            @Param("isVegetarian") Boolean isVegetarian,
+            @Param("servings") Integer servings,
+            @Param("minServings") Integer minServings,
+            @Param("maxServings") Integer maxServings,
+            @Param("instructionsPattern") String instructionsPattern,
+            @Param("includePatterns") String[] includePatterns,
+            @Param("excludePatterns") String[] excludePatterns,
+            @Param("recipeIds") UUID[] recipeIds,
+            @Param("cursorCreatedAt") Instant cursorCreatedAt,
+            @Param("cursorId") UUID cursorId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * List view of the given recipes, in no particular order (recipes that don't exist are left out).
+     */
+    @Query(value = "SELECT " + SUMMARY_COLUMNS + "FROM recipes r WHERE r.id = ANY (CAST(:recipeIds AS uuid[]))",
+            nativeQuery = true)
+    List<RecipeSummaryView> findSummariesByIdIn(@Param("recipeIds") UUID[] recipeIds);
+
+    /**
+     * Full-text search over the weighted search_vector of recipes, most relevant first, one keyset page at a time.
+     * Pass the rank / id of the last hit of the previous page to continue right after it.
+     * Only ids and ranks are returned: the GIN index on search_vector finds the matches without touching the recipes.
+     *
+     * @param tsQuery tsquery expression, e.g. {@code chicken & cur:*}
+     */
+    @Query(value = """
+        SELECT hit.id AS id, hit.rank AS rank
+        FROM (
+            SELECT r.id, ts_rank(r.search_vector, to_tsquery('english', :tsQuery)) AS rank
+            FROM recipes r
+            WHERE r.search_vector @@ to_tsquery('english', :tsQuery)
+        ) hit
+        WHERE hit.rank < CAST(:cursorRank AS real)
+            OR (hit.rank = CAST(:cursorRank AS real) AND hit.id < :cursorId)
+        ORDER BY hit.rank DESC, hit.id DESC
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<RecipeSearchHit> searchByText(
+            @Param("tsQuery") String tsQuery,
+            @Param("cursorRank") float cursorRank,
+            @Param("cursorId") UUID cursorId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Rebuilds the columns search relies on, which Hibernate does not map, from the current state of a recipe:
+     * the search_vector (title, description, ingredients and instructions) and the ingredient_ids signature.
+     * Must run after every write to the recipe or its children; pending changes are flushed first.
+     */
+    default void refreshSearchColumns(UUID recipeId) {
+        refreshSearchColumnsFor(new UUID[]{recipeId});
+    }
+
+    /**
+     * Same as {@link #refreshSearchColumns(UUID)}, for many recipes in a single statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE recipes r SET
+        ingredient_ids = ARRAY(
+            SELECT ri.ingredient_id
+            FROM recipes_ingredients ri
+            WHERE ri.recipe_id = r.id
+            ORDER BY ri.ingredient_id),
+        search_vector =
+            setweight(to_tsvector('english', coalesce(r.title, '')), 'A')
+            || setweight(to_tsvector('english', coalesce((
+                SELECT string_agg(i.name, ' ')
+                FROM recipes_ingredients ri
+                JOIN ingredients i ON i.id = ri.ingredient_id
+                WHERE ri.recipe_id = r.id), '')), 'B')
+            || setweight(to_tsvector('english', coalesce(r.description, '')), 'C')
+            || setweight(to_tsvector('english', coalesce((
+                SELECT string_agg(inst.content, ' ')
+                FROM instructions inst
+                WHERE inst.recipe_id = r.id), '')), 'D')
+        WHERE r.id = ANY (CAST(:recipeIds AS uuid[]))
+        """, nativeQuery = true)
+    void refreshSearchColumnsFor(@Param("recipeIds") UUID[] recipeIds);
+
+    /**
+     * Version of the recipe alone (a primary key lookup), for conditional reads that may not need the recipe at all.
+     */
+    @Query("SELECT r.version FROM Recipe r WHERE r.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Streams every recipe from a server-side cursor, {@value #STREAM_FETCH_SIZE} rows per round trip.
+     * Must be consumed (and closed) inside a transaction; children are not loaded.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Recipe r")
+    Stream<Recipe> streamAll();
 }
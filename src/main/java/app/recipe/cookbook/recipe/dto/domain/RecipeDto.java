@@ -43,4 +43,7 @@ public class RecipeDto {
     
     @Schema(description = "Recipe last update timestamp", example = "2024-01-15T10:30:00Z")
     private Instant updatedAt;
+
+    @Schema(description = "Recipe version, changed by every update (also sent as the ETag)", example = "3")
+    private Long version;
 }
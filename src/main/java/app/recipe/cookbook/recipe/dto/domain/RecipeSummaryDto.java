@@ -0,0 +1,32 @@
+package app.recipe.cookbook.recipe.dto.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Recipe as shown in lists: without description, ingredients and instructions")
+public class RecipeSummaryDto {
+
+    @Schema(description = "Unique recipe identifier", example = "550e8400-e29b-41d4-a716-446655440000")
+    private UUID id;
+
+    @Schema(description = "Recipe title", example = "Breakfast Omelette")
+    private String title;
+
+    @Schema(description = "Number of servings", example = "1")
+    private Integer servings;
+
+    @Schema(description = "Whether the recipe is vegetarian", example = "false")
+    private boolean isVegetarian;
+
+    @Schema(description = "Number of ingredients of the recipe", example = "5")
+    private int ingredientCount;
+}
@@ -0,0 +1,46 @@
+package app.recipe.cookbook.recipe.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body to be used when partially updating a recipe: absent (null) fields are left unchanged.
+ * Ingredients and instructions, when present, replace the whole list (same format as {@link SaveRecipeRequestDto}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Request payload for partially updating a recipe. Absent fields are left unchanged.")
+public class PatchRecipeRequestDto {
+
+    @Schema(description = "Recipe title", example = "Breakfast Omelette", nullable = true)
+    @Size(min = 3, max = 255, message = "Title must be between 3 and 255 characters")
+    private String title;
+
+    @Schema(description = "Recipe description", example = "Omelette is a breakfast staple in Bangkok for people on the go.", nullable = true)
+    @Size(min = 3, max = 1000, message = "Description must be between 3 and 1000 characters")
+    private String description;
+
+    @Schema(description = "Number of servings (1 serving = serves 1 adult)", example = "4", nullable = true)
+    @Positive(message = "Servings size must be a positive number")
+    private Integer servingSize;
+
+    @Schema(description = "List of ingredients with quantities, replacing the current ones", nullable = true)
+    @Valid
+    @Size(min = 1, message = "At least one ingredient is required")
+    private List<SaveRecipeRequestDto.IngredientRequestDto> ingredients;
+
+    @Schema(description = "List of cooking instructions, replacing the current ones", nullable = true)
+    @Valid
+    @Size(min = 1, message = "At least one instruction is required")
+    private List<SaveRecipeRequestDto.InstructionRequestDto> instructions;
+}
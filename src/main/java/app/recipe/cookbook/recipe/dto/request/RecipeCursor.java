@@ -0,0 +1,52 @@
+package app.recipe.cookbook.recipe.dto.request;
+
+import app.recipe.cookbook.common.pagination.CursorCodec;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.projection.RecipeSummaryView;
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+/**
+ * Keyset position of a recipe in the search ordering (newest first: createdAt DESC, id DESC).
+ * The next page starts right after the recipe this cursor points to.
+ */
+@Value
+public class RecipeCursor {
+
+    /**
+     * Position before the newest possible recipe, i.e. the start of the first page.
+     * Using a sentinel (instead of null) keeps the keyset predicate free of untyped null parameters.
+     */
+    public static final RecipeCursor FIRST_PAGE =
+            new RecipeCursor(Instant.parse("9999-12-31T23:59:59Z"), new UUID(-1L, -1L));
+
+    Instant createdAt;
+    UUID id;
+
+    public static RecipeCursor of(Recipe recipe) {
+        return new RecipeCursor(recipe.getCreatedAt(), recipe.getId());
+    }
+
+    public static RecipeCursor of(RecipeSummaryView summary) {
+        return new RecipeCursor(summary.getCreatedAt(), summary.getId());
+    }
+
+    public String encode() {
+        return CursorCodec.encode(createdAt.toString(), id.toString());
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token is not a valid recipe cursor
+     */
+    public static RecipeCursor decode(String token) {
+        final String[] parts = CursorCodec.decode(token, 2);
+        try {
+            return new RecipeCursor(Instant.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package app.recipe.cookbook.recipe.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import jakarta.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.springframework.util.StringUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Properties a recipe response is limited to (sparse fieldset), as given by the {@code fields} parameter:
+ * {@code id,title,ingredients.name}. Ingredient and instruction properties are prefixed by their association;
+ * naming the association alone selects all of its properties.
+ * <p>
+ * Associations left out are not loaded at all. Properties left out are still read with their row, but not
+ * serialised: the recipe DTOs are bound to the Jackson filters of {@link #filterProvider()} by the mix-ins below.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RecipeFields {
+
+    public static final String RECIPE_FILTER = "recipeFields";
+    public static final String INGREDIENT_FILTER = "recipeIngredientFields";
+    public static final String INSTRUCTION_FILTER = "instructionFields";
+
+    /**
+     * Every property, the default when no fields are given.
+     */
+    public static final RecipeFields ALL = new RecipeFields(null, null, null);
+
+    private static final String INGREDIENTS = "ingredients";
+    private static final String INSTRUCTIONS = "instructions";
+
+    // JSON property names: Jackson names the boolean isVegetarian of RecipeDto "vegetarian"
+    private static final Set<String> RECIPE_PROPERTIES = Set.of(
+            "id", "title", "description", "servings", "vegetarian", INGREDIENTS, INSTRUCTIONS,
+            "createdAt", "updatedAt", "version");
+    private static final Set<String> INGREDIENT_PROPERTIES = Set.of(
+            "recipeId", "ingredientId", "name", "isVegetarian", "quantity", "unit");
+    private static final Set<String> INSTRUCTION_PROPERTIES = Set.of(
+            "id", "recipeId", "stepNumber", "content");
+
+    /**
+     * Selected properties of the recipe, of its ingredients and of its instructions; null selects all of them.
+     */
+    Set<String> recipe;
+    Set<String> ingredient;
+    Set<String> instruction;
+
+    /**
+     * @param fields comma-separated properties; null or blank for all of them
+     * @throws IllegalArgumentException when a field is not a property of the recipe responses
+     */
+    public static RecipeFields parse(@Nullable String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return ALL;
+        }
+        final Set<String> recipe = new HashSet<>();
+        final Set<String> ingredient = new HashSet<>();
+        final Set<String> instruction = new HashSet<>();
+        boolean allIngredient = false;
+        boolean allInstruction = false;
+        for (String field : fields.split(",")) {
+            final String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            final int dot = name.indexOf('.');
+            final String property = dot < 0 ? name : name.substring(0, dot);
+            if (!RECIPE_PROPERTIES.contains(property)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            recipe.add(property);
+            if (dot < 0) {
+                allIngredient |= property.equals(INGREDIENTS);
+                allInstruction |= property.equals(INSTRUCTIONS);
+                continue;
+            }
+            final String child = name.substring(dot + 1);
+            switch (property) {
+                case INGREDIENTS -> select(ingredient, INGREDIENT_PROPERTIES, child, name);
+                case INSTRUCTIONS -> select(instruction, INSTRUCTION_PROPERTIES, child, name);
+                default -> throw new IllegalArgumentException("Unknown field: " + name);
+            }
+        }
+        if (recipe.isEmpty()) {
+            return ALL;
+        }
+        return new RecipeFields(recipe, allIngredient ? null : ingredient, allInstruction ? null : instruction);
+    }
+
+    private static void select(Set<String> selected, Set<String> properties, String property, String field) {
+        if (!properties.contains(property)) {
+            throw new IllegalArgumentException("Unknown field: " + field);
+        }
+        selected.add(property);
+    }
+
+    /**
+     * @return whether the ingredients of the recipes have to be loaded
+     */
+    public boolean includesIngredients() {
+        return recipe == null || recipe.contains(INGREDIENTS);
+    }
+
+    /**
+     * @return whether the instructions of the recipes have to be loaded
+     */
+    public boolean includesInstructions() {
+        return recipe == null || recipe.contains(INSTRUCTIONS);
+    }
+
+    /**
+     * @return the filters serialising only the selected properties, to set on the response (MappingJacksonValue)
+     */
+    public FilterProvider filterProvider() {
+        return new SimpleFilterProvider()
+                .addFilter(RECIPE_FILTER, filter(recipe))
+                .addFilter(INGREDIENT_FILTER, filter(ingredient))
+                .addFilter(INSTRUCTION_FILTER, filter(instruction));
+    }
+
+    private static SimpleBeanPropertyFilter filter(@Nullable Set<String> properties) {
+        return properties == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(properties);
+    }
+
+    /**
+     * Mix-in of RecipeDto, so that the DTO itself stays free of Jackson annotations.
+     */
+    @JsonFilter(RECIPE_FILTER)
+    public interface RecipeMixIn {
+    }
+
+    /**
+     * Mix-in of RecipeIngredientDto.
+     */
+    @JsonFilter(INGREDIENT_FILTER)
+    public interface IngredientMixIn {
+    }
+
+    /**
+     * Mix-in of InstructionDto.
+     */
+    @JsonFilter(INSTRUCTION_FILTER)
+    public interface InstructionMixIn {
+    }
+}
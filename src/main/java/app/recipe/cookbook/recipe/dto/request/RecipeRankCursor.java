@@ -0,0 +1,44 @@
+package app.recipe.cookbook.recipe.dto.request;
+
+import app.recipe.cookbook.common.pagination.CursorCodec;
+import app.recipe.cookbook.recipe.db.projection.RecipeSearchHit;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Keyset position of a recipe in full-text search results (most relevant first: rank DESC, id DESC).
+ * The next page starts right after the recipe this cursor points to.
+ */
+@Value
+public class RecipeRankCursor {
+
+    /**
+     * Position before the most relevant possible recipe, i.e. the start of the first page.
+     */
+    public static final RecipeRankCursor FIRST_PAGE = new RecipeRankCursor(Float.MAX_VALUE, new UUID(-1L, -1L));
+
+    float rank;
+    UUID id;
+
+    public static RecipeRankCursor of(RecipeSearchHit hit) {
+        return new RecipeRankCursor(hit.getRank(), hit.getId());
+    }
+
+    public String encode() {
+        // Float.toString round-trips exactly, so the next page resumes at the very same rank
+        return CursorCodec.encode(Float.toString(rank), id.toString());
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token is not a valid search cursor
+     */
+    public static RecipeRankCursor decode(String token) {
+        final String[] parts = CursorCodec.decode(token, 2);
+        try {
+            return new RecipeRankCursor(Float.parseFloat(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
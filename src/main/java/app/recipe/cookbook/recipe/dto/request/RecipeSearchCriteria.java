@@ -18,6 +18,9 @@ import java.util.stream.Collectors;
 @Builder
 public class RecipeSearchCriteria {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private Boolean isVegetarian;
     private Integer servingSize;
     private Integer minServingSize;
@@ -26,11 +29,9 @@ public class RecipeSearchCriteria {
     private List<String> excludeIngredients;
     private String instructionsContent;
 
-//    TODO later: Pagination parameters
-//    private Integer page = 0;
-//    private Integer size = 20;
-//    private String sortBy = "createdAt";
-//    private String sortDirection = "desc";
+    // Keyset pagination: results are always ordered newest first (createdAt DESC, id DESC)
+    private String cursor;
+    private Integer pageSize;
 
     public Integer getEffectiveServingSize() {
         if (minServingSize != null && maxServingSize != null)
@@ -39,22 +40,50 @@ public class RecipeSearchCriteria {
             return servingSize;
     }
 
+    public int getEffectivePageSize() {
+        return pageSize != null ? pageSize : DEFAULT_PAGE_SIZE;
+    }
+
     /**
-     * Checks whether multiple filters were defined in the criteria.
-     * Special filters use some advanced query (not directly provided by JPA repository).
-     *
-     * @return true if multiple filters were defined. false otherwise
+     * @return the position to resume the search from ({@link RecipeCursor#FIRST_PAGE} when no cursor was given).
+     */
+    public RecipeCursor decodeCursor() {
+        return StringUtils.hasText(cursor) ? RecipeCursor.decode(cursor) : RecipeCursor.FIRST_PAGE;
+    }
+
+    /**
+     * @return LIKE pattern for the instruction content filter, or null when there is no such filter.
+     */
+    public String getInstructionsContentPattern() {
+        return StringUtils.hasText(instructionsContent) ? containsPattern(instructionsContent) : null;
+    }
+
+    /**
+     * @return the include terms, normalised (lowercase, trimmed, de-duplicated)
+     */
+    public List<String> getIncludeIngredientTerms() {
+        return normalise(includeIngredients);
+    }
+
+    /**
+     * @return the exclude terms, normalised (lowercase, trimmed, de-duplicated)
+     */
+    public List<String> getExcludeIngredientTerms() {
+        return normalise(excludeIngredients);
+    }
+
+    /**
+     * @return LIKE patterns matching lowercase ingredient names that contain any of the include terms.
+     */
+    public String[] getIncludeIngredientPatterns() {
+        return toIngredientPatterns(getIncludeIngredientTerms());
+    }
+
+    /**
+     * @return LIKE patterns matching lowercase ingredient names that contain any of the exclude terms.
      */
-    public boolean shouldUseAdvancedSearch() {
-        int filterCount = 0;
-        if (isVegetarian != null) filterCount++;
-        if (servingSize != null) filterCount++;
-        if (minServingSize != null) filterCount++;
-        if (maxServingSize != null) filterCount++;
-        if (StringUtils.hasText(instructionsContent)) filterCount++;
-        if (excludeIngredients != null && !excludeIngredients.isEmpty()) filterCount++;
-        if (includeIngredients != null && !includeIngredients.isEmpty()) filterCount++;
-        return filterCount > 1;
+    public String[] getExcludeIngredientPatterns() {
+        return toIngredientPatterns(getExcludeIngredientTerms());
     }
 
     /**
@@ -67,6 +96,7 @@ public class RecipeSearchCriteria {
     public void validate() {
         validateServingsRange();
         validateIngredientsCriteria();
+        validatePagination();
     }
 
     /**
@@ -117,4 +147,48 @@ public class RecipeSearchCriteria {
         }
 
     }
+
+    /**
+     * Validates the requested page size and that the cursor (if any) is one we issued.
+     */
+    private void validatePagination() {
+        if (pageSize != null && (pageSize < 1 || pageSize > MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException(
+                    String.format("pageSize must be between 1 and %d, got %d", MAX_PAGE_SIZE, pageSize)
+            );
+        }
+        decodeCursor();
+    }
+
+    /**
+     * Ingredient terms match case-insensitively anywhere in the name, so the terms are
+     * normalised (lowercase, trimmed, de-duplicated) once.
+     */
+    private static List<String> normalise(List<String> ingredientTerms) {
+        if (CollectionUtils.isEmpty(ingredientTerms)) {
+            return List.of();
+        }
+        return ingredientTerms.stream()
+                .map(term -> term.toLowerCase().trim())
+                .distinct()
+                .toList();
+    }
+
+    private static String[] toIngredientPatterns(List<String> normalisedTerms) {
+        return normalisedTerms.stream()
+                .map(RecipeSearchCriteria::containsPattern)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Builds a LIKE pattern matching values that contain the given text literally:
+     * LIKE wildcards in the text are escaped (backslash is PostgreSQL's default escape character).
+     */
+    private static String containsPattern(String text) {
+        final String escaped = text
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
 }
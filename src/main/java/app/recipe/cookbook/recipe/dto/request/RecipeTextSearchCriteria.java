@@ -0,0 +1,81 @@
+package app.recipe.cookbook.recipe.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Criteria of a relevance-ranked, full-text recipe search.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecipeTextSearchCriteria {
+
+    /**
+     * Longer queries are cut down to this many words, so a single search can't get arbitrarily expensive.
+     */
+    public static final int MAX_QUERY_TERMS = 10;
+
+    private String query;
+    private String cursor;
+    private Integer pageSize;
+
+    public int getEffectivePageSize() {
+        return pageSize != null ? pageSize : RecipeSearchCriteria.DEFAULT_PAGE_SIZE;
+    }
+
+    /**
+     * @return the position to resume the search from ({@link RecipeRankCursor#FIRST_PAGE} when no cursor was given).
+     */
+    public RecipeRankCursor decodeCursor() {
+        return StringUtils.hasText(cursor) ? RecipeRankCursor.decode(cursor) : RecipeRankCursor.FIRST_PAGE;
+    }
+
+    /**
+     * Turns the free text typed by the user into a PostgreSQL tsquery requiring all of its words.
+     * The last word is matched as a prefix since users search as they type ("chicken cur" finds "chicken curry").
+     * Only letters and digits are kept, so user input can never inject tsquery operators.
+     *
+     * @return tsquery expression, e.g. {@code chicken & cur:*}
+     */
+    public String toPrefixTsQuery() {
+        final List<String> terms = queryTerms();
+        return terms.stream()
+                .limit(terms.size() - 1)
+                .collect(Collectors.joining(" & ", "", terms.size() > 1 ? " & " : ""))
+                + terms.get(terms.size() - 1) + ":*";
+    }
+
+    /**
+     * @throws IllegalArgumentException when the search criteria are invalid
+     */
+    public void validate() {
+        if (queryTerms().isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        if (pageSize != null && (pageSize < 1 || pageSize > RecipeSearchCriteria.MAX_PAGE_SIZE)) {
+            throw new IllegalArgumentException(
+                    String.format("pageSize must be between 1 and %d, got %d", RecipeSearchCriteria.MAX_PAGE_SIZE, pageSize)
+            );
+        }
+        decodeCursor();
+    }
+
+    private List<String> queryTerms() {
+        if (!StringUtils.hasText(query)) {
+            return List.of();
+        }
+        return Arrays.stream(query.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(StringUtils::hasText)
+                .limit(MAX_QUERY_TERMS)
+                .toList();
+    }
+}
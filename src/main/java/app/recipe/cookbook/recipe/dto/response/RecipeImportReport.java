@@ -0,0 +1,70 @@
+package app.recipe.cookbook.recipe.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Outcome of a bulk recipe import")
+public class RecipeImportReport {
+
+    @Schema(description = "Number of recipes read from the payload", example = "3")
+    private int total;
+
+    @Schema(description = "Number of recipes imported", example = "2")
+    private int imported;
+
+    @Schema(description = "Number of recipes rejected", example = "1")
+    private int failed;
+
+    @Schema(description = "Result of every recipe, in payload order")
+    @Builder.Default
+    private List<ItemResult> items = new ArrayList<>();
+
+    public void addImported(int index, UUID recipeId) {
+        items.add(new ItemResult(index, Status.IMPORTED, recipeId, null));
+        total++;
+        imported++;
+    }
+
+    public void addFailed(int index, List<String> errors) {
+        items.add(new ItemResult(index, Status.FAILED, null, errors));
+        total++;
+        failed++;
+    }
+
+    public enum Status {
+        IMPORTED,
+        FAILED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Result of one recipe of the payload")
+    public static class ItemResult {
+
+        @Schema(description = "Zero-based position of the recipe in the payload", example = "0")
+        private int index;
+
+        @Schema(description = "Whether the recipe was imported", example = "IMPORTED")
+        private Status status;
+
+        @Schema(description = "Identifier of the imported recipe", example = "550e8400-e29b-41d4-a716-446655440000", nullable = true)
+        private UUID recipeId;
+
+        @Schema(description = "Why the recipe was rejected", nullable = true)
+        private List<String> errors;
+    }
+}
@@ -0,0 +1,325 @@
+package app.recipe.cookbook.recipe.index;
+
+import app.recipe.cookbook.recipe.cache.RecipeSearchCache;
+import app.recipe.cookbook.recipe.db.entity.Ingredient;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index from ingredients to the recipes using them, answering the include / exclude
+ * ingredient filters of the recipe search with compressed bitmap operations:
+ * <ul>
+ *     <li>every term is expanded to the ingredients whose lowercase name contains it, through a name dictionary</li>
+ *     <li>include (all terms): AND of the per-term unions of recipe bitmaps</li>
+ *     <li>exclude (any term): AND-NOT of the union of recipe bitmaps of all terms</li>
+ * </ul>
+ * Recipes are identified by ordinals (bitmap positions) assigned as they are indexed; ordinals of deleted recipes
+ * are not reused until the index is rebuilt, at startup.
+ * <p>
+ * Built from the recipes' ingredient_ids signature once the application is ready, then kept up to date by the
+ * writers, once their transaction commits. The index only sees the writes of this instance, so it is disabled by
+ * default: enable it ({@code cookbook.search.ingredient-index.enabled=true}) only when a single instance writes to
+ * the database.
+ */
+@Slf4j
+@Component
+public class RecipeIngredientIndex {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RecipeSearchCache recipeSearchCache;
+    private final boolean enabled;
+    private final int maxCandidates;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object refreshMutex = new Object();
+    private volatile boolean ready;
+
+    // Guarded by lock
+    private final Map<UUID, Integer> ordinalByRecipe = new HashMap<>();
+    private final List<UUID> recipeByOrdinal = new ArrayList<>();
+    private final List<int[]> ingredientsByRecipeOrdinal = new ArrayList<>();
+    private final RoaringBitmap liveRecipes = new RoaringBitmap();
+    private final Map<UUID, Integer> ordinalByIngredient = new HashMap<>();
+    private final List<String> ingredientNames = new ArrayList<>();
+    private final List<RoaringBitmap> recipesByIngredientOrdinal = new ArrayList<>();
+
+    public RecipeIngredientIndex(
+            JdbcTemplate jdbcTemplate,
+            RecipeSearchCache recipeSearchCache,
+            @Value("${cookbook.search.ingredient-index.enabled:false}") boolean enabled,
+            @Value("${cookbook.search.ingredient-index.max-candidates:10000}") int maxCandidates) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recipeSearchCache = recipeSearchCache;
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+    }
+
+    /**
+     * (Re)builds the index from the database. Writes committing meanwhile wait for the build,
+     * then refresh their recipes on top of it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        final long start = System.nanoTime();
+        synchronized (refreshMutex) {
+            final int recipes = rebuild();
+            log.info("Indexed ingredients of {} recipes in {} ms", recipes, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * @return the number of recipes indexed
+     */
+    private int rebuild() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            ordinalByRecipe.clear();
+            recipeByOrdinal.clear();
+            ingredientsByRecipeOrdinal.clear();
+            liveRecipes.clear();
+            ordinalByIngredient.clear();
+            ingredientNames.clear();
+            recipesByIngredientOrdinal.clear();
+
+            jdbcTemplate.query("SELECT id, name FROM ingredients", rs -> {
+                ingredientOrdinal(rs.getObject("id", UUID.class), rs.getString("name"));
+            });
+            jdbcTemplate.query("SELECT id, ingredient_ids FROM recipes", rs -> {
+                index(rs.getObject("id", UUID.class), toUuids(rs.getArray("ingredient_ids")));
+            });
+            ready = true;
+            return liveRecipes.getCardinality();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Resolves the ingredient filters of a search to the recipes satisfying them.
+     *
+     * @param includeTerms normalised terms, all of which must match an ingredient of the recipe
+     * @param excludeTerms normalised terms, none of which may match an ingredient of the recipe
+     * @return the IDs of the matching recipes, in no particular order; empty when the index cannot answer
+     * (not built, disabled) or when more than {@code max-candidates} recipes match, in which case the filters are
+     * better evaluated by the database
+     */
+    public Optional<List<UUID>> findCandidates(Collection<String> includeTerms, Collection<String> excludeTerms) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            RoaringBitmap candidates = null;
+            for (String term : includeTerms) {
+                final RoaringBitmap matches = recipesWithIngredientMatching(List.of(term));
+                candidates = candidates == null ? matches : RoaringBitmap.and(candidates, matches);
+                if (candidates.isEmpty()) {
+                    return Optional.of(List.of());
+                }
+            }
+            if (candidates == null) {
+                candidates = liveRecipes.clone();
+            }
+            if (!excludeTerms.isEmpty()) {
+                candidates.andNot(recipesWithIngredientMatching(excludeTerms));
+            }
+
+            if (candidates.getCardinality() > maxCandidates) {
+                return Optional.empty();
+            }
+            final List<UUID> recipeIds = new ArrayList<>(candidates.getCardinality());
+            candidates.forEach((int ordinal) -> recipeIds.add(recipeByOrdinal.get(ordinal)));
+            return Optional.of(recipeIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-indexes the recipes from their committed state once the current transaction commits (right away when there
+     * is no transaction): recipes deleted by the transaction leave the index. Then makes every cached search stale,
+     * in the same callback: a search filed under the new generation of {@link RecipeSearchCache} always ran on the
+     * refreshed index. When the index is disabled, only the cached searches are made stale.
+     * <p>
+     * Reading the committed state (rather than taking the ingredients from the writer) makes the index converge
+     * whatever the order in which concurrent writers get to it: refreshes are serialized, so the last one to run
+     * read the database after every commit that came before it.
+     */
+    public void refreshAfterCommit(Collection<UUID> recipeIds) {
+        if (!enabled || recipeIds.isEmpty()) {
+            recipeSearchCache.invalidateAllAfterCommit();
+            return;
+        }
+        final UUID[] ids = recipeIds.toArray(UUID[]::new);
+        afterCommit(() -> {
+            refresh(ids);
+            recipeSearchCache.invalidateAll();
+        });
+    }
+
+    private void refresh(UUID[] recipeIds) {
+        synchronized (refreshMutex) {
+            final Map<UUID, List<Ingredient>> ingredientsByRecipe = new HashMap<>();
+            jdbcTemplate.query("""
+                    SELECT r.id AS recipe_id, i.id AS ingredient_id, i.name AS ingredient_name
+                    FROM recipes r
+                    LEFT JOIN ingredients i ON i.id = ANY (r.ingredient_ids)
+                    WHERE r.id = ANY (?)
+                    """,
+                    ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", recipeIds)),
+                    rs -> {
+                        final List<Ingredient> ingredients = ingredientsByRecipe.computeIfAbsent(
+                                rs.getObject("recipe_id", UUID.class), id -> new ArrayList<>());
+                        final UUID ingredientId = rs.getObject("ingredient_id", UUID.class);
+                        if (ingredientId != null) {
+                            ingredients.add(Ingredient.builder().id(ingredientId).name(rs.getString("ingredient_name")).build());
+                        }
+                    });
+
+            lock.writeLock().lock();
+            try {
+                for (UUID recipeId : recipeIds) {
+                    final List<Ingredient> ingredients = ingredientsByRecipe.get(recipeId);
+                    if (ingredients == null) {
+                        unindex(recipeId);
+                    } else {
+                        index(recipeId, ingredients.stream()
+                                .map(ingredient -> ingredientOrdinal(ingredient.getId(), ingredient.getName()))
+                                .distinct()
+                                .toList());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Must hold the write lock. Ingredients of the signature unknown to the dictionary (created by another instance)
+     * cannot be matched by name and are skipped.
+     */
+    private void index(UUID recipeId, UUID[] ingredientIds) {
+        final List<Integer> ingredientOrdinals = new ArrayList<>(ingredientIds.length);
+        for (UUID ingredientId : ingredientIds) {
+            final Integer ingredientOrdinal = ordinalByIngredient.get(ingredientId);
+            if (ingredientOrdinal != null) {
+                ingredientOrdinals.add(ingredientOrdinal);
+            }
+        }
+        index(recipeId, ingredientOrdinals);
+    }
+
+    /**
+     * Must hold the write lock.
+     */
+    private void index(UUID recipeId, List<Integer> ingredientOrdinals) {
+        final int ordinal = ordinalByRecipe.computeIfAbsent(recipeId, id -> {
+            recipeByOrdinal.add(id);
+            ingredientsByRecipeOrdinal.add(null);
+            return recipeByOrdinal.size() - 1;
+        });
+        unindexIngredients(ordinal);
+
+        final int[] ingredients = ingredientOrdinals.stream().mapToInt(Integer::intValue).toArray();
+        for (int ingredientOrdinal : ingredients) {
+            recipesByIngredientOrdinal.get(ingredientOrdinal).add(ordinal);
+        }
+        ingredientsByRecipeOrdinal.set(ordinal, ingredients);
+        liveRecipes.add(ordinal);
+    }
+
+    /**
+     * Must hold the write lock.
+     */
+    private void unindex(UUID recipeId) {
+        final Integer ordinal = ordinalByRecipe.remove(recipeId);
+        if (ordinal == null) {
+            return;
+        }
+        unindexIngredients(ordinal);
+        liveRecipes.remove(ordinal);
+        recipeByOrdinal.set(ordinal, null);
+    }
+
+    /**
+     * Must hold the write lock.
+     */
+    private void unindexIngredients(int recipeOrdinal) {
+        final int[] previous = ingredientsByRecipeOrdinal.get(recipeOrdinal);
+        if (previous == null) {
+            return;
+        }
+        for (int ingredientOrdinal : previous) {
+            recipesByIngredientOrdinal.get(ingredientOrdinal).remove(recipeOrdinal);
+        }
+        ingredientsByRecipeOrdinal.set(recipeOrdinal, null);
+    }
+
+    /**
+     * Must hold the write lock. Ingredients are never renamed nor deleted: their entry is added once.
+     */
+    private int ingredientOrdinal(UUID ingredientId, String name) {
+        return ordinalByIngredient.computeIfAbsent(ingredientId, id -> {
+            ingredientNames.add(name.toLowerCase());
+            recipesByIngredientOrdinal.add(new RoaringBitmap());
+            return ingredientNames.size() - 1;
+        });
+    }
+
+    /**
+     * Must hold the read lock.
+     *
+     * @return a new bitmap of the recipes having an ingredient whose lowercase name contains any of the terms
+     */
+    private RoaringBitmap recipesWithIngredientMatching(Collection<String> terms) {
+        final List<RoaringBitmap> matches = new ArrayList<>();
+        for (int ingredientOrdinal = 0; ingredientOrdinal < ingredientNames.size(); ingredientOrdinal++) {
+            final String name = ingredientNames.get(ingredientOrdinal);
+            if (terms.stream().anyMatch(name::contains)) {
+                matches.add(recipesByIngredientOrdinal.get(ingredientOrdinal));
+            }
+        }
+        return RoaringBitmap.or(matches.iterator());
+    }
+
+    private static UUID[] toUuids(Array array) throws SQLException {
+        return array == null ? new UUID[0] : (UUID[]) array.getArray();
+    }
+}
@@ -40,7 +40,7 @@ public class InstructionMapper {
         return instructions;
     }
 
-    private Instruction fromRequestDto(SaveRecipeRequestDto.InstructionRequestDto dto, UUID recipeId, int stepNumber) {
+    public Instruction fromRequestDto(SaveRecipeRequestDto.InstructionRequestDto dto, UUID recipeId, int stepNumber) {
         return Instruction.builder()
                 .id(UUID.randomUUID()) // Manually assign ID
                 .recipeId(recipeId)
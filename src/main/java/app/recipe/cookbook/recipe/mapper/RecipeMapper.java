@@ -1,7 +1,11 @@
 package app.recipe.cookbook.recipe.mapper;
 
 import app.recipe.cookbook.recipe.db.entity.Ingredient;
+import app.recipe.cookbook.recipe.db.entity.Instruction;
+import app.recipe.cookbook.recipe.db.entity.RecipeIngredient;
+import app.recipe.cookbook.recipe.db.projection.RecipeSummaryView;
 import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.domain.RecipeSummaryDto;
 import app.recipe.cookbook.recipe.db.entity.Recipe;
 import app.recipe.cookbook.recipe.dto.request.SaveRecipeRequestDto;
 import jakarta.annotation.Nullable;
@@ -22,6 +26,14 @@ public class RecipeMapper {
     private final InstructionMapper instructionMapper;
 
     public RecipeDto toDto(Recipe recipeEntity) {
+        return toDto(recipeEntity, recipeEntity.getIngredients(), recipeEntity.getInstructions());
+    }
+
+    /**
+     * Same as {@link #toDto(Recipe)}, with children loaded separately (e.g. for many recipes at once)
+     * instead of through the lazy collections of the recipe. Children not loaded (null) are left null.
+     */
+    public RecipeDto toDto(Recipe recipeEntity, List<RecipeIngredient> ingredients, List<Instruction> instructions) {
         return RecipeDto.builder()
                 .id(recipeEntity.getId())
                 .title(recipeEntity.getTitle())
@@ -30,11 +42,26 @@ public class RecipeMapper {
                 .isVegetarian(recipeEntity.getIsVegetarian())
                 .createdAt(recipeEntity.getCreatedAt())
                 .updatedAt(recipeEntity.getUpdatedAt())
-                .ingredients(ingredientMapper.toDto(recipeEntity.getIngredients()))
-                .instructions(instructionMapper.toDto(recipeEntity.getInstructions()))
+                .version(recipeEntity.getVersion())
+                .ingredients(ingredients != null ? ingredientMapper.toDto(ingredients) : null)
+                .instructions(instructions != null ? instructionMapper.toDto(instructions) : null)
                 .build();
     }
 
+    public RecipeSummaryDto toSummaryDto(RecipeSummaryView summary) {
+        return RecipeSummaryDto.builder()
+                .id(summary.getId())
+                .title(summary.getTitle())
+                .servings(summary.getServings())
+                .isVegetarian(Boolean.TRUE.equals(summary.getIsVegetarian()))
+                .ingredientCount(summary.getIngredientCount())
+                .build();
+    }
+
+    public List<RecipeSummaryDto> toSummaryDtos(List<RecipeSummaryView> summaries) {
+        return summaries.stream().map(this::toSummaryDto).toList();
+    }
+
     public Recipe fromCreateRequestDto(
             SaveRecipeRequestDto requestDto,
             List<Ingredient> processedIngredients) {
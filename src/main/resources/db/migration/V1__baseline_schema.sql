@@ -0,0 +1,60 @@
+-- Baseline: the schema Hibernate used to generate (ddl-auto=create-drop), plus the DDL that was applied on top of it
+-- at startup (ingredient constraints, trigram search indexes, full-text search and ingredient signature columns).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE TABLE recipes (
+    id              uuid                        NOT NULL PRIMARY KEY,
+    title           varchar(255)                NOT NULL,
+    description     text,
+    servings        integer                     NOT NULL CHECK (servings BETWEEN 1 AND 50),
+    is_vegetarian   boolean,
+    created_at      timestamp(6) with time zone NOT NULL,
+    updated_at      timestamp(6) with time zone NOT NULL,
+    -- Optimistic lock, exposed as the ETag of the recipe
+    version         bigint                      NOT NULL,
+    -- Weighted full-text document, used by GET /v1/recipes/search. Not mapped by Hibernate:
+    -- RecipeRepository.refreshSearchColumns rebuilds it after every recipe write.
+    --   A: title, B: ingredient names, C: description, D: instruction content
+    search_vector   tsvector,
+    -- Ingredient signature: the sorted IDs of the recipe's ingredients, used by the include / exclude filters
+    -- of GET /v1/recipes (array overlaps instead of joining recipes_ingredients and ingredients for every recipe).
+    -- Not mapped by Hibernate either: rebuilt by RecipeRepository.refreshSearchColumns as well.
+    ingredient_ids  uuid[]                      NOT NULL DEFAULT '{}'
+);
+
+CREATE TABLE ingredients (
+    id              uuid         NOT NULL PRIMARY KEY,
+    name            varchar(255) NOT NULL UNIQUE,
+    is_vegetarian   boolean
+);
+
+CREATE TABLE recipes_ingredients (
+    recipe_id       uuid          NOT NULL REFERENCES recipes (id) ON DELETE CASCADE,
+    ingredient_id   uuid          NOT NULL REFERENCES ingredients (id),
+    quantity        numeric(38,2) NOT NULL CHECK (quantity > 0),
+    unit            varchar(50),
+    PRIMARY KEY (recipe_id, ingredient_id)
+);
+
+CREATE TABLE instructions (
+    id              uuid    NOT NULL PRIMARY KEY,
+    recipe_id       uuid    NOT NULL REFERENCES recipes (id) ON DELETE CASCADE,
+    step_number     integer NOT NULL CHECK (step_number >= 1),
+    content         text    NOT NULL,
+    UNIQUE (recipe_id, step_number)
+);
+
+-- Ingredient names are unique ignoring case: "Tomato" and "tomato" are the same ingredient.
+-- IngredientRepository.insertMissing relies on this index for its ON CONFLICT (lower(name)) clause,
+-- and the lookup by lower(name) = ANY(...) is served by it too.
+CREATE UNIQUE INDEX idx_ingredient_name_lower ON ingredients (lower(name));
+
+-- Unanchored substring searches (LIKE '%term%') cannot use a B-tree; pg_trgm GIN indexes serve them for terms of 3+ characters.
+-- Ingredient filters compare lower(name) LIKE '%term%': index the same expression
+CREATE INDEX idx_ingredient_name_trgm ON ingredients USING gin (lower(name) gin_trgm_ops);
+-- Instruction content filter: content LIKE '%text%'
+CREATE INDEX idx_instruction_content_trgm ON instructions USING gin (content gin_trgm_ops);
+
+CREATE INDEX idx_recipe_search_vector ON recipes USING gin (search_vector);
+CREATE INDEX idx_recipe_ingredient_ids ON recipes USING gin (ingredient_ids);
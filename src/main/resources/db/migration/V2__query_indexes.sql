@@ -0,0 +1,13 @@
+-- B-tree indexes for the filters, orderings and joins of the recipe queries, which so far only had primary keys
+-- and unique constraints to work with.
+
+-- GET /v1/recipes pages newest first with a (created_at, id) keyset: the index, read backward from the cursor,
+-- returns the page in order instead of sorting every matching recipe
+CREATE INDEX idx_recipe_created_at_id ON recipes (created_at, id);
+
+-- Vegetarian and servings filters (servings alone as an exact value or a range)
+CREATE INDEX idx_recipe_vegetarian_servings ON recipes (is_vegetarian, servings);
+
+-- Recipes of an ingredient: the primary key (recipe_id, ingredient_id) only serves lookups by recipe.
+-- Also keeps the foreign key check of an ingredient delete from scanning the whole table.
+CREATE INDEX idx_recipe_ingredient_ingredient_id ON recipes_ingredients (ingredient_id);
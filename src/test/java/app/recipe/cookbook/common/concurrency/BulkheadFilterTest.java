@@ -0,0 +1,57 @@
+package app.recipe.cookbook.common.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BulkheadFilter Tests")
+class BulkheadFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BulkheadFilter filter = new BulkheadFilter(1, Duration.ofMillis(10), new ObjectMapper(), meterRegistry);
+
+    @Test
+    @DisplayName("Should reject with 503 a request still waiting for capacity after max-wait")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Given
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        // When: the second request arrives while the first one holds the only permit
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/recipes"), new MockHttpServletResponse(), (req, res) ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/v1/recipes"), second, (innerReq, innerRes) -> {
+                    throw new AssertionError("The second request should not run");
+                }));
+
+        // Then
+        assertThat(second.getStatus()).isEqualTo(503);
+        assertThat(second.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(second.getContentAsString()).contains("\"errorCode\":503");
+        assertThat(meterRegistry.get(BulkheadFilter.REJECTED_METRIC).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should release the permit once a request completes")
+    void shouldReleasePermit() throws Exception {
+        // Given
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/recipes"), new MockHttpServletResponse(), (req, res) -> {
+        });
+        MockHttpServletResponse next = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/recipes"), next, (req, res) ->
+                ((HttpServletResponse) res).setStatus(204));
+
+        // Then
+        assertThat(next.getStatus()).isEqualTo(204);
+        assertThat(meterRegistry.get(BulkheadFilter.AVAILABLE_METRIC).gauge().value()).isEqualTo(1);
+    }
+}
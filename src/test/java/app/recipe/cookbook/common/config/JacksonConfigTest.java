@@ -0,0 +1,100 @@
+package app.recipe.cookbook.common.config;
+
+import app.recipe.cookbook.common.dto.response.ProjectApiResponse;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.domain.RecipeIngredientDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeFields;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JacksonConfig Tests")
+class JacksonConfigTest {
+
+    private final JacksonConfig jacksonConfig = new JacksonConfig();
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @BeforeEach
+    void setUp() {
+        final Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        jacksonConfig.recipeFieldsCustomizer().customize(builder);
+        cborConverter = jacksonConfig.cborHttpMessageConverter(builder);
+    }
+
+    @Test
+    @DisplayName("Should replace the default CBOR converter, after the JSON one")
+    void shouldRegisterCborAfterJson() {
+        // Given
+        List<HttpMessageConverter<?>> converters = new ArrayList<>(new HttpMessageConverters(cborConverter).getConverters());
+
+        // When
+        jacksonConfig.cborHttpMessageConverterReplacement(cborConverter).extendMessageConverters(converters);
+
+        // Then: clients accepting anything still get JSON
+        assertThat(converters).filteredOn(MappingJackson2CborHttpMessageConverter.class::isInstance)
+                .containsExactly(cborConverter);
+        assertThat(converters.indexOf(cborConverter))
+                .isGreaterThan(indexOfFirst(converters, MappingJackson2HttpMessageConverter.class));
+    }
+
+    @Test
+    @DisplayName("Should write the response envelope as CBOR, with the selected fields only")
+    void shouldWriteCborWithSelectedFields() throws Exception {
+        // Given
+        UUID recipeId = UUID.randomUUID();
+        RecipeDto recipe = RecipeDto.builder()
+                .id(recipeId)
+                .title("Omelette")
+                .servings(1)
+                .ingredients(List.of(RecipeIngredientDto.builder()
+                        .recipeId(recipeId)
+                        .name("egg")
+                        .quantity(BigDecimal.valueOf(2))
+                        .build()))
+                .createdAt(Instant.parse("2024-01-15T10:30:00Z"))
+                .version(3L)
+                .build();
+        MappingJacksonValue body = new MappingJacksonValue(ProjectApiResponse.success(recipe));
+        body.setFilters(RecipeFields.parse("id,title,ingredients.name").filterProvider());
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        // When
+        cborConverter.write(body, MediaType.APPLICATION_CBOR, output);
+
+        // Then
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        JsonNode response = new ObjectMapper(new CBORFactory()).readTree(output.getBodyAsBytes());
+        assertThat(response.get("success").asBoolean()).isTrue();
+        assertThat(response.get("data").fieldNames()).toIterable().containsExactlyInAnyOrder("id", "title", "ingredients");
+        assertThat(response.get("data").get("title").asText()).isEqualTo("Omelette");
+        assertThat(response.get("data").get("ingredients").get(0).fieldNames()).toIterable().containsExactly("name");
+    }
+
+    private static int indexOfFirst(List<HttpMessageConverter<?>> converters, Class<?> type) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (type.isInstance(converters.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,22 @@
+package app.recipe.cookbook.common.config;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * PostgreSQL container of the database tests, wired as their datasource. Import it along with
+ * {@code @Testcontainers(disabledWithoutDocker = true)}, so that the tests are skipped (rather than failed) without
+ * Docker, and {@code @AutoConfigureTestDatabase(replace = NONE)} on slice tests, so that it is not replaced by an
+ * embedded database.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresContainerConfig {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgresContainer() {
+        return new PostgreSQLContainer<>("postgres:14.17");
+    }
+}
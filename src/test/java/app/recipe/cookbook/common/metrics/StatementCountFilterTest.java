@@ -0,0 +1,50 @@
+package app.recipe.cookbook.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StatementCountFilter Tests")
+class StatementCountFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StatementCountFilter filter = new StatementCountFilter(meterRegistry);
+    private final StatementCounter statementCounter = new StatementCounter();
+
+    @Test
+    @DisplayName("Should record the statements of a request under its route template")
+    void shouldRecordStatementsPerRoute() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/recipes/42");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/v1/recipes/{id}");
+            statementCounter.inspect("SELECT 1");
+            statementCounter.inspect("SELECT 2");
+        });
+
+        // Then
+        DistributionSummary statements = meterRegistry.get(StatementCountFilter.METRIC)
+                .tags("method", "GET", "uri", "/v1/recipes/{id}")
+                .summary();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not count statements outside of a request")
+    void shouldNotCountOutsideRequest() {
+        // When
+        statementCounter.inspect("SELECT 1");
+
+        // Then
+        assertThat(StatementCounter.stop()).isZero();
+    }
+}
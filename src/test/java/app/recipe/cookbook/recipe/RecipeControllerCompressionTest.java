@@ -0,0 +1,128 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.common.config.JacksonConfig;
+import app.recipe.cookbook.common.dto.response.CursorPage;
+import app.recipe.cookbook.recipe.dto.domain.InstructionDto;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeFields;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the recipe endpoints on the embedded Tomcat with the compression settings of application.properties:
+ * MockMvc bypasses the connector, which is what compresses responses.
+ */
+@SpringBootTest(classes = RecipeControllerCompressionTest.WebConfig.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@DisplayName("RecipeController compression Tests")
+class RecipeControllerCompressionTest {
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoBean
+    private RecipeService recipeService;
+
+    @MockitoBean
+    private RecipeImportService recipeImportService;
+
+    @MockitoBean
+    private RecipeExportService recipeExportService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private RecipeDto recipe;
+
+    @BeforeEach
+    void setUp() {
+        final UUID recipeId = UUID.randomUUID();
+        recipe = RecipeDto.builder()
+                .id(recipeId)
+                .title("Slow-cooked ragù")
+                .servings(6)
+                .instructions(IntStream.rangeClosed(1, 30)
+                        .mapToObj(step -> InstructionDto.builder()
+                                .id(UUID.randomUUID())
+                                .recipeId(recipeId)
+                                .stepNumber(step)
+                                .content("Stir the sauce, scrape the bottom of the pot and let it simmer for ten more minutes.")
+                                .build())
+                        .toList())
+                .createdAt(Instant.parse("2024-01-15T10:30:00Z"))
+                .version(3L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should gzip a search page")
+    void shouldGzipSearch() throws Exception {
+        // Given
+        when(recipeService.searchRecipes(any(), eq(RecipeFields.ALL))).thenReturn(CursorPage.of(List.of(recipe), null));
+
+        // When
+        HttpResponse<byte[]> response = get("/v1/recipes");
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+    }
+
+    @Test
+    @DisplayName("Should gzip a recipe, which carries an ETag")
+    void shouldGzipRecipeWithETag() throws Exception {
+        // Given
+        when(recipeService.getRecipeById(recipe.getId(), RecipeFields.ALL)).thenReturn(recipe);
+
+        // When
+        HttpResponse<byte[]> response = get("/v1/recipes/" + recipe.getId());
+
+        // Then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("ETag")).hasValue("W/\"3\"");
+        assertThat(response.headers().firstValue("Content-Encoding")).hasValue("gzip");
+    }
+
+    private HttpResponse<byte[]> get(String path) throws Exception {
+        return httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                        .header("Accept", "application/json")
+                        .header("Accept-Encoding", "gzip")
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class
+    })
+    @Import({RecipeController.class, JacksonConfig.class})
+    static class WebConfig {
+    }
+}
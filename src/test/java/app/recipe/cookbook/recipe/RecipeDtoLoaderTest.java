@@ -0,0 +1,95 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.recipe.db.entity.Instruction;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.entity.RecipeIngredient;
+import app.recipe.cookbook.recipe.db.repository.InstructionRepository;
+import app.recipe.cookbook.recipe.db.repository.RecipeIngredientRepository;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeFields;
+import app.recipe.cookbook.recipe.mapper.RecipeMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeDtoLoader Tests")
+class RecipeDtoLoaderTest {
+
+    @Mock
+    private RecipeIngredientRepository recipeIngredientRepository;
+
+    @Mock
+    private InstructionRepository instructionRepository;
+
+    @Mock
+    private RecipeMapper recipeMapper;
+
+    @InjectMocks
+    private RecipeDtoLoader recipeDtoLoader;
+
+    @Test
+    @DisplayName("Should load the children of all recipes with one query per association")
+    void shouldLoadChildrenWithOneQueryPerAssociation() {
+        // Given
+        Recipe pancakes = Recipe.builder().id(UUID.randomUUID()).title("Pancakes").build();
+        Recipe waffles = Recipe.builder().id(UUID.randomUUID()).title("Waffles").build();
+        RecipeIngredient flour = RecipeIngredient.builder().recipeId(pancakes.getId()).build();
+        Instruction mix = Instruction.builder().recipeId(waffles.getId()).stepNumber(1).build();
+        List<UUID> recipeIds = List.of(pancakes.getId(), waffles.getId());
+        RecipeDto pancakesDto = RecipeDto.builder().title("Pancakes").build();
+        RecipeDto wafflesDto = RecipeDto.builder().title("Waffles").build();
+
+        when(recipeIngredientRepository.findAllWithIngredientByRecipeIdIn(recipeIds)).thenReturn(List.of(flour));
+        when(instructionRepository.findAllByRecipeIdIn(recipeIds)).thenReturn(List.of(mix));
+        when(recipeMapper.toDto(pancakes, List.of(flour), List.of())).thenReturn(pancakesDto);
+        when(recipeMapper.toDto(waffles, List.of(), List.of(mix))).thenReturn(wafflesDto);
+
+        // When
+        List<RecipeDto> result = recipeDtoLoader.toDtos(List.of(pancakes, waffles));
+
+        // Then
+        assertThat(result).containsExactly(pancakesDto, wafflesDto);
+        verify(recipeIngredientRepository, times(1)).findAllWithIngredientByRecipeIdIn(any());
+        verify(instructionRepository, times(1)).findAllByRecipeIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Should not query the children left out of the selected fields")
+    void shouldNotQueryChildrenLeftOut() {
+        // Given
+        Recipe pancakes = Recipe.builder().id(UUID.randomUUID()).title("Pancakes").build();
+        RecipeIngredient flour = RecipeIngredient.builder().recipeId(pancakes.getId()).build();
+        RecipeDto pancakesDto = RecipeDto.builder().title("Pancakes").build();
+
+        when(recipeIngredientRepository.findAllWithIngredientByRecipeIdIn(List.of(pancakes.getId()))).thenReturn(List.of(flour));
+        when(recipeMapper.toDto(pancakes, List.of(flour), null)).thenReturn(pancakesDto);
+
+        // When
+        List<RecipeDto> result = recipeDtoLoader.toDtos(List.of(pancakes), RecipeFields.parse("title,ingredients.name"));
+
+        // Then
+        assertThat(result).containsExactly(pancakesDto);
+        verifyNoInteractions(instructionRepository);
+    }
+
+    @Test
+    @DisplayName("Should not query anything for an empty page")
+    void shouldNotQueryForEmptyPage() {
+        // When
+        List<RecipeDto> result = recipeDtoLoader.toDtos(List.of());
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(recipeIngredientRepository, instructionRepository, recipeMapper);
+    }
+}
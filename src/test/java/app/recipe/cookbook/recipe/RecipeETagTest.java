@@ -0,0 +1,38 @@
+package app.recipe.cookbook.recipe;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecipeETag Tests")
+class RecipeETagTest {
+
+    @Test
+    @DisplayName("Should quote the version as a weak entity tag")
+    void shouldQuoteVersion() {
+        assertThat(RecipeETag.of(3)).isEqualTo("W/\"3\"");
+    }
+
+    @Test
+    @DisplayName("Should accept any version without If-Match or with a wildcard")
+    void shouldAcceptAnyVersion() {
+        assertThat(RecipeETag.versionsMatching(null)).isNull();
+        assertThat(RecipeETag.versionsMatching("*")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read every recipe tag of If-Match, weak or strong")
+    void shouldReadTags() {
+        assertThat(RecipeETag.versionsMatching("\"3\"")).containsExactly(3L);
+        assertThat(RecipeETag.versionsMatching(RecipeETag.of(3))).containsExactly(3L);
+        assertThat(RecipeETag.versionsMatching("W/\"3\", \"5\"")).containsExactlyInAnyOrder(3L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should match no version with foreign tags")
+    void shouldIgnoreForeignTags() {
+        assertThat(RecipeETag.versionsMatching("\"abc\"")).isEmpty();
+        assertThat(RecipeETag.versionsMatching("W/\"abc\"")).isEmpty();
+    }
+}
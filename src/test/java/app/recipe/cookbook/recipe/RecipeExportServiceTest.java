@@ -0,0 +1,75 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.repository.RecipeRepository;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeExportService Tests")
+class RecipeExportServiceTest {
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private RecipeDtoLoader recipeDtoLoader;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private RecipeExportService recipeExportService;
+
+    @BeforeEach
+    void setUp() {
+        recipeExportService = new RecipeExportService(
+                recipeRepository,
+                recipeDtoLoader,
+                new ObjectMapper().findAndRegisterModules(),
+                entityManager
+        );
+    }
+
+    @Test
+    @DisplayName("Should write one recipe per line, loading children once per chunk")
+    void shouldWriteOneRecipePerLine() throws Exception {
+        // Given
+        Recipe pancakes = Recipe.builder().id(UUID.randomUUID()).title("Pancakes").build();
+        Recipe waffles = Recipe.builder().id(UUID.randomUUID()).title("Waffles").build();
+
+        when(recipeRepository.streamAll()).thenReturn(Stream.of(pancakes, waffles));
+        when(recipeDtoLoader.toDtos(List.of(pancakes, waffles))).thenReturn(List.of(
+                RecipeDto.builder().title("Pancakes").build(),
+                RecipeDto.builder().title("Waffles").build()
+        ));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        recipeExportService.exportRecipes(output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"title\":\"Pancakes\"");
+        assertThat(lines[1]).startsWith("{").contains("\"title\":\"Waffles\"");
+        assertThat(output.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+        verify(recipeDtoLoader, times(1)).toDtos(any());
+        verify(entityManager).clear();
+    }
+}
@@ -0,0 +1,77 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.recipe.db.entity.Ingredient;
+import app.recipe.cookbook.recipe.db.entity.Instruction;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.entity.RecipeIngredient;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Persists recipes for the database tests. Ingredients are vegetarian, created once per name and shared by the
+ * recipes using that name, including after the persistence context was cleared.
+ */
+public class RecipeFixtures {
+
+    private final TestEntityManager entityManager;
+    private final Map<String, UUID> ingredientIds = new HashMap<>();
+
+    public RecipeFixtures(TestEntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Persists a recipe for 2 with the given ingredients and no instruction.
+     *
+     * @return the ID of the recipe
+     */
+    public UUID persistRecipe(String title, String... ingredientNames) {
+        return persistRecipe(Recipe.builder().id(UUID.randomUUID()).title(title).servings(2).build(),
+                List.of(ingredientNames), List.of()).getId();
+    }
+
+    /**
+     * Persists the recipe with the given ingredients (quantity 1) and instructions, in order.
+     */
+    public Recipe persistRecipe(Recipe recipe, List<String> ingredientNames, List<String> steps) {
+        for (String name : ingredientNames) {
+            final Ingredient ingredient = ingredient(name);
+            recipe.getIngredients().add(RecipeIngredient.builder()
+                    .recipeId(recipe.getId())
+                    .ingredientId(ingredient.getId())
+                    .recipe(recipe)
+                    .ingredient(ingredient)
+                    .quantity(BigDecimal.ONE)
+                    .build());
+        }
+        for (int i = 0; i < steps.size(); i++) {
+            recipe.getInstructions().add(Instruction.builder()
+                    .id(UUID.randomUUID())
+                    .recipeId(recipe.getId())
+                    .recipe(recipe)
+                    .stepNumber(i + 1)
+                    .content(steps.get(i))
+                    .build());
+        }
+        return entityManager.persist(recipe);
+    }
+
+    private Ingredient ingredient(String name) {
+        final UUID id = ingredientIds.get(name);
+        if (id != null) {
+            return entityManager.find(Ingredient.class, id);
+        }
+        final Ingredient ingredient = entityManager.persist(Ingredient.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .isVegetarian(true)
+                .build());
+        ingredientIds.put(name, ingredient.getId());
+        return ingredient;
+    }
+}
@@ -0,0 +1,171 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.recipe.db.entity.Ingredient;
+import app.recipe.cookbook.recipe.db.repository.RecipeRepository;
+import app.recipe.cookbook.recipe.dto.response.RecipeImportReport;
+import app.recipe.cookbook.recipe.index.RecipeIngredientIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeImportService Tests")
+class RecipeImportServiceTest {
+
+    private static final String OMELETTE = """
+            {"title": "Omelette", "servingSize": 1,
+             "ingredients": [{"name": "Egg", "quantity": 2, "isVegetarian": true}],
+             "instructions": [{"content": "Beat the eggs."}, {"content": "Fry."}]}""";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private RecipeService recipeService;
+
+    @Mock
+    private RecipeRepository recipeRepository;
+
+    @Mock
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    private RecipeImportService recipeImportService;
+
+    private final Ingredient egg = Ingredient.builder().id(UUID.randomUUID()).name("egg").isVegetarian(true).build();
+
+    @BeforeEach
+    void setUp() {
+        recipeImportService = new RecipeImportService(
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                jdbcTemplate,
+                transactionTemplate,
+                recipeService,
+                recipeRepository,
+                recipeIngredientIndex
+        );
+        ReflectionTestUtils.setField(recipeImportService, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should import an NDJSON stream in chunks, resolving each ingredient once")
+    void shouldImportNdjsonInChunks() throws Exception {
+        // Given
+        runTransactionsInline();
+        when(recipeService.upsertIngredients(anyList())).thenReturn(List.of(egg, egg));
+
+        // When
+        RecipeImportReport report = recipeImportService.importRecipes(payload(OMELETTE + "\n" + OMELETTE + "\n" + OMELETTE));
+
+        // Then
+        assertThat(report.getTotal()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getItems()).extracting(RecipeImportReport.ItemResult::getStatus)
+                .containsOnly(RecipeImportReport.Status.IMPORTED);
+        // Two chunks; the second one reuses the egg resolved by the first
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(recipeService, times(1)).upsertIngredients(anyList());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> instructionRows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(contains("INSERT INTO instructions"), instructionRows.capture());
+        assertThat(instructionRows.getAllValues().get(0)).hasSize(4);
+        verify(recipeRepository, times(2)).refreshSearchColumnsFor(any());
+        verify(recipeIngredientIndex, times(2)).refreshAfterCommit(anyList());
+    }
+
+    @Test
+    @DisplayName("Should report invalid recipes of a JSON array in payload order and import the others")
+    void shouldReportInvalidRecipesAndImportTheOthers() throws Exception {
+        // Given
+        runTransactionsInline();
+        when(recipeService.upsertIngredients(anyList())).thenReturn(List.of(egg));
+        String invalid = """
+                {"title": "Omelette", "servingSize": "many",
+                 "ingredients": [{"name": "Egg", "quantity": 2}], "instructions": [{"content": "Fry."}]}""";
+        String duplicateIngredient = """
+                {"title": "Omelette", "servingSize": 1,
+                 "ingredients": [{"name": "Egg", "quantity": 2}, {"name": "egg", "quantity": 1}],
+                 "instructions": [{"content": "Fry."}]}""";
+
+        // When
+        RecipeImportReport report = recipeImportService.importRecipes(
+                payload("[" + invalid + "," + OMELETTE + "," + duplicateIngredient + "]"));
+
+        // Then
+        assertThat(report.getTotal()).isEqualTo(3);
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getItems()).extracting(RecipeImportReport.ItemResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(report.getItems()).extracting(RecipeImportReport.ItemResult::getStatus).containsExactly(
+                RecipeImportReport.Status.FAILED, RecipeImportReport.Status.IMPORTED, RecipeImportReport.Status.FAILED);
+        assertThat(report.getItems().get(2).getErrors()).containsExactly("ingredients: Duplicate ingredient egg");
+    }
+
+    @Test
+    @DisplayName("Should reject a recipe out of the table's bounds alone, importing the rest of its chunk")
+    void shouldRejectOutOfBoundsRecipeAlone() throws Exception {
+        // Given
+        runTransactionsInline();
+        when(recipeService.upsertIngredients(anyList())).thenReturn(List.of(egg));
+        String tooManyServings = OMELETTE.replace("\"servingSize\": 1", "\"servingSize\": 51");
+
+        // When
+        RecipeImportReport report = recipeImportService.importRecipes(
+                payload(OMELETTE + "\n" + tooManyServings + "\n" + OMELETTE));
+
+        // Then
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getItems()).extracting(RecipeImportReport.ItemResult::getStatus).containsExactly(
+                RecipeImportReport.Status.IMPORTED, RecipeImportReport.Status.FAILED, RecipeImportReport.Status.IMPORTED);
+        assertThat(report.getItems().get(1).getErrors()).containsExactly("servingSize: Servings cannot exceed 50");
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed payload")
+    void shouldRejectMalformedPayload() {
+        // When & Then
+        assertThatThrownBy(() -> recipeImportService.importRecipes(payload("[{\"title\": ")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Malformed import payload after item 0 (0 recipes imported)");
+        verifyNoInteractions(jdbcTemplate, transactionTemplate);
+    }
+
+    /**
+     * Helper method making the mocked TransactionTemplate run its callback
+     */
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private static InputStream payload(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
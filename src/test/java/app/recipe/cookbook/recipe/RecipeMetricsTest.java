@@ -0,0 +1,43 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecipeMetrics Tests")
+class RecipeMetricsTest {
+
+    @Test
+    @DisplayName("Should name the filters of a search in a fixed order, whatever their values")
+    void shouldNameFiltersInFixedOrder() {
+        // Given
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder()
+                .instructionsContent("oven")
+                .excludeIngredients(List.of("pork"))
+                .minServingSize(2)
+                .isVegetarian(false)
+                .build();
+
+        // When / Then
+        assertThat(RecipeMetrics.filterShape(criteria)).isEqualTo("vegetarian+servings+exclude+instructions");
+    }
+
+    @Test
+    @DisplayName("Should ignore empty filters and paging")
+    void shouldIgnoreEmptyFiltersAndPaging() {
+        // Given
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder()
+                .includeIngredients(List.of())
+                .instructionsContent("  ")
+                .cursor("abc")
+                .pageSize(50)
+                .build();
+
+        // When / Then
+        assertThat(RecipeMetrics.filterShape(criteria)).isEqualTo("none");
+    }
+}
@@ -0,0 +1,174 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.common.config.PostgresContainerConfig;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.projection.RecipeSummaryView;
+import app.recipe.cookbook.recipe.db.repository.RecipeRepository;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeCursor;
+import app.recipe.cookbook.recipe.dto.request.RecipeFields;
+import app.recipe.cookbook.recipe.mapper.IngredientMapper;
+import app.recipe.cookbook.recipe.mapper.InstructionMapper;
+import app.recipe.cookbook.recipe.mapper.RecipeMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the number of SQL statements needed to read recipes (and their children) for RecipeMapper,
+ * so N+1 lazy loading can't silently come back.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({
+        PostgresContainerConfig.class,
+        RecipeDtoLoader.class, RecipeMapper.class, IngredientMapper.class, InstructionMapper.class
+})
+@DisplayName("Recipe read statement count Tests")
+class RecipeReadStatementCountTest {
+
+    private static final int RECIPES = 10;
+    private static final int INGREDIENTS_PER_RECIPE = 5;
+    private static final int STEPS_PER_RECIPE = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private RecipeDtoLoader recipeDtoLoader;
+
+    private RecipeFixtures fixtures;
+    private Statistics statistics;
+    private UUID firstRecipeId;
+    private final List<UUID> recipeIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new RecipeFixtures(entityManager);
+        for (int r = 0; r < RECIPES; r++) {
+            final Recipe recipe = persistRecipe(r);
+            if (firstRecipeId == null) {
+                firstRecipeId = recipe.getId();
+            }
+            recipeIds.add(recipe.getId());
+        }
+        entityManager.flush();
+        recipeRepository.refreshSearchColumnsFor(recipeIds.toArray(UUID[]::new));
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should read a list of recipes with a constant number of statements")
+    void shouldReadRecipeListWithConstantStatements() {
+        // When
+        List<RecipeDto> result = recipeDtoLoader.toDtos(recipeRepository.findAll());
+
+        // Then
+        assertThat(result).hasSize(RECIPES).allSatisfy(recipe -> {
+            assertThat(recipe.getIngredients()).hasSize(INGREDIENTS_PER_RECIPE);
+            assertThat(recipe.getInstructions()).hasSize(STEPS_PER_RECIPE);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should read one recipe with a constant number of statements")
+    void shouldReadOneRecipeWithConstantStatements() {
+        // When
+        Recipe recipe = recipeRepository.findById(firstRecipeId).orElseThrow();
+        RecipeDto result = recipeDtoLoader.toDtos(List.of(recipe)).get(0);
+
+        // Then
+        assertThat(result.getIngredients()).hasSize(INGREDIENTS_PER_RECIPE)
+                .allSatisfy(ingredient -> assertThat(ingredient.getName()).isNotBlank());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not read the children left out of the selected fields")
+    void shouldNotReadChildrenLeftOut() {
+        // When
+        List<RecipeDto> result = recipeDtoLoader.toDtos(recipeRepository.findAll(), RecipeFields.parse("id,title"));
+
+        // Then
+        assertThat(result).hasSize(RECIPES).allSatisfy(recipe -> {
+            assertThat(recipe.getIngredients()).isNull();
+            assertThat(recipe.getInstructions()).isNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should read a page of summaries with one statement, without loading any entity")
+    void shouldReadSummariesWithoutEntities() {
+        // When
+        List<RecipeSummaryView> result = recipeRepository.findSummariesWithFilters(
+                null, null, null, null, null, new String[0], new String[0], new UUID[0],
+                RecipeCursor.FIRST_PAGE.getCreatedAt(), RecipeCursor.FIRST_PAGE.getId(), RECIPES);
+
+        // Then
+        assertThat(result).hasSize(RECIPES).allSatisfy(summary -> {
+            assertThat(summary.getTitle()).startsWith("Recipe ");
+            assertThat(summary.getIngredientCount()).isEqualTo(INGREDIENTS_PER_RECIPE);
+            assertThat(summary.getCreatedAt()).isNotNull();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should read the summaries of given recipes with one statement, without loading any entity")
+    void shouldReadSummariesByIdWithoutEntities() {
+        // When
+        List<RecipeSummaryView> result = recipeRepository.findSummariesByIdIn(new UUID[]{firstRecipeId});
+
+        // Then
+        assertThat(result).singleElement().satisfies(summary -> {
+            assertThat(summary.getId()).isEqualTo(firstRecipeId);
+            assertThat(summary.getServings()).isEqualTo(2);
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    /**
+     * Helper method to persist a recipe with its own ingredients and instructions
+     */
+    private Recipe persistRecipe(int index) {
+        return fixtures.persistRecipe(
+                Recipe.builder()
+                        .id(UUID.randomUUID())
+                        .title("Recipe " + index)
+                        .description("Description " + index)
+                        .servings(2)
+                        .build(),
+                IntStream.range(0, INGREDIENTS_PER_RECIPE).mapToObj(i -> "ingredient " + index + "-" + i).toList(),
+                IntStream.rangeClosed(1, STEPS_PER_RECIPE).mapToObj(step -> "Step " + step).toList());
+    }
+}
@@ -1,30 +1,52 @@
 package app.recipe.cookbook.recipe;
 
+import app.recipe.cookbook.common.dto.response.CursorPage;
+import app.recipe.cookbook.recipe.cache.RecipeCache;
+import app.recipe.cookbook.recipe.cache.RecipeSearchCache;
 import app.recipe.cookbook.recipe.db.entity.Ingredient;
+import app.recipe.cookbook.recipe.db.entity.Instruction;
 import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.entity.RecipeIngredient;
+import app.recipe.cookbook.recipe.db.projection.RecipeSearchHit;
+import app.recipe.cookbook.recipe.db.projection.RecipeSummaryView;
 import app.recipe.cookbook.recipe.db.repository.IngredientRepository;
 import app.recipe.cookbook.recipe.db.repository.RecipeRepository;
 import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.domain.RecipeSummaryDto;
+import app.recipe.cookbook.recipe.dto.request.PatchRecipeRequestDto;
+import app.recipe.cookbook.recipe.dto.request.RecipeCursor;
+import app.recipe.cookbook.recipe.dto.request.RecipeFields;
+import app.recipe.cookbook.recipe.dto.request.RecipeRankCursor;
+import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import app.recipe.cookbook.recipe.dto.request.RecipeTextSearchCriteria;
 import app.recipe.cookbook.recipe.dto.request.SaveRecipeRequestDto;
+import app.recipe.cookbook.recipe.index.RecipeIngredientIndex;
 import app.recipe.cookbook.recipe.mapper.IngredientMapper;
 import app.recipe.cookbook.recipe.mapper.InstructionMapper;
 import app.recipe.cookbook.recipe.mapper.RecipeMapper;
 import app.recipe.cookbook.common.exception.RecipeNotFoundException;
+import app.recipe.cookbook.common.exception.RecipeVersionMismatchException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,6 +68,23 @@ class RecipeServiceTest {
     @Mock
     private RecipeMapper recipeMapper;
 
+    @Mock
+    private RecipeDtoLoader recipeDtoLoader;
+
+    @Spy
+    private RecipeCache recipeCache = new RecipeCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Spy
+    private RecipeSearchCache recipeSearchCache = new RecipeSearchCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    @Mock
+    private RecipeIngredientIndex recipeIngredientIndex;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private RecipeMetrics recipeMetrics = new RecipeMetrics(meterRegistry);
+
     @InjectMocks
     private RecipeService recipeService;
 
@@ -118,15 +157,15 @@ class RecipeServiceTest {
     void shouldGetRecipeByIdSuccessfully() {
         // Given
         when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockRecipe));
-        when(recipeMapper.toDto(mockRecipe)).thenReturn(mockRecipeDto);
+        when(recipeDtoLoader.toDtos(List.of(mockRecipe), RecipeFields.ALL)).thenReturn(List.of(mockRecipeDto));
 
         // When
-        RecipeDto result = recipeService.getRecipeById(recipeId);
+        RecipeDto result = recipeService.getRecipeById(recipeId, RecipeFields.ALL);
 
         // Then
         assertThat(result).isEqualTo(mockRecipeDto);
         verify(recipeRepository).findById(recipeId);
-        verify(recipeMapper).toDto(mockRecipe);
+        verify(recipeDtoLoader).toDtos(List.of(mockRecipe), RecipeFields.ALL);
     }
 
     @Test
@@ -136,41 +175,123 @@ class RecipeServiceTest {
         when(recipeRepository.findById(recipeId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> recipeService.getRecipeById(recipeId))
+        assertThatThrownBy(() -> recipeService.getRecipeById(recipeId, RecipeFields.ALL))
                 .isInstanceOf(RecipeNotFoundException.class)
                 .hasMessage("Recipe not found with ID: " + recipeId);
         
         verify(recipeRepository).findById(recipeId);
-        verifyNoInteractions(recipeMapper);
+        verifyNoInteractions(recipeMapper, recipeDtoLoader);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads of a recipe from the cache")
+    void shouldServeRepeatedReadsFromCache() {
+        // Given
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockRecipe));
+        when(recipeDtoLoader.toDtos(List.of(mockRecipe), RecipeFields.ALL)).thenReturn(List.of(mockRecipeDto));
+
+        // When
+        recipeService.getRecipeById(recipeId, RecipeFields.ALL);
+        RecipeDto result = recipeService.getRecipeById(recipeId, RecipeFields.ALL);
+
+        // Then
+        assertThat(result).isEqualTo(mockRecipeDto);
+        verify(recipeRepository, times(1)).findById(recipeId);
+    }
+
+    @Test
+    @DisplayName("Should only load the selected children of a recipe, without caching it")
+    void shouldLoadSelectedChildrenWithoutCaching() {
+        // Given
+        RecipeFields fields = RecipeFields.parse("id,title,ingredients.name");
+        RecipeDto partialDto = RecipeDto.builder().id(recipeId).title("Test Recipe").build();
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockRecipe));
+        when(recipeDtoLoader.toDtos(List.of(mockRecipe), fields)).thenReturn(List.of(partialDto));
+
+        // When
+        RecipeDto result = recipeService.getRecipeById(recipeId, fields);
+
+        // Then
+        assertThat(result).isEqualTo(partialDto);
+        verify(recipeDtoLoader).toDtos(List.of(mockRecipe), fields);
+        assertThat(recipeCache.getIfPresent(recipeId)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve a recipe from the cache whatever the selected fields")
+    void shouldServeSelectedFieldsFromCache() {
+        // Given
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockRecipe));
+        when(recipeDtoLoader.toDtos(List.of(mockRecipe), RecipeFields.ALL)).thenReturn(List.of(mockRecipeDto));
+        recipeService.getRecipeById(recipeId, RecipeFields.ALL);
+
+        // When
+        RecipeDto result = recipeService.getRecipeById(recipeId, RecipeFields.parse("title"));
+
+        // Then
+        assertThat(result).isEqualTo(mockRecipeDto);
+        verify(recipeRepository, times(1)).findById(recipeId);
+    }
+
+    @Test
+    @DisplayName("Should reload a recipe after it was deleted")
+    void shouldReloadRecipeAfterDelete() {
+        // Given
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockRecipe), Optional.of(mockRecipe), Optional.empty());
+        when(recipeDtoLoader.toDtos(List.of(mockRecipe), RecipeFields.ALL)).thenReturn(List.of(mockRecipeDto));
+        recipeService.getRecipeById(recipeId, RecipeFields.ALL);
+
+        // When
+        recipeService.deleteRecipe(recipeId, null);
+
+        // Then
+        verify(recipeCache).invalidateAfterCommit(recipeId);
+        assertThatThrownBy(() -> recipeService.getRecipeById(recipeId, RecipeFields.ALL))
+                .isInstanceOf(RecipeNotFoundException.class);
     }
 
     @Test
     @DisplayName("Should delete recipe successfully")
     void shouldDeleteRecipeSuccessfully() {
         // Given
-        when(recipeRepository.existsById(recipeId)).thenReturn(true);
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockRecipe));
 
         // When
-        recipeService.deleteRecipe(recipeId);
+        recipeService.deleteRecipe(recipeId, null);
 
         // Then
-        verify(recipeRepository).existsById(recipeId);
-        verify(recipeRepository).deleteById(recipeId);
+        verify(recipeRepository).findById(recipeId);
+        verify(recipeRepository).delete(mockRecipe);
+    }
+
+    @Test
+    @DisplayName("Should refuse to delete a recipe modified since the expected version")
+    void shouldRefuseToDeleteModifiedRecipe() {
+        // Given
+        mockRecipe.setVersion(3L);
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockRecipe));
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.deleteRecipe(recipeId, Set.of(2L)))
+                .isInstanceOf(RecipeVersionMismatchException.class)
+                .hasMessageContaining("current version is 3");
+        verify(recipeRepository, never()).delete(any());
+        verify(recipeCache, never()).invalidateAfterCommit(any());
     }
 
     @Test
     @DisplayName("Should throw exception when deleting non-existent recipe")
     void shouldThrowExceptionWhenDeletingNonExistentRecipe() {
         // Given
-        when(recipeRepository.existsById(recipeId)).thenReturn(false);
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> recipeService.deleteRecipe(recipeId))
+        assertThatThrownBy(() -> recipeService.deleteRecipe(recipeId, null))
                 .isInstanceOf(RecipeNotFoundException.class)
                 .hasMessage("Recipe not found with ID: " + recipeId);
         
-        verify(recipeRepository).existsById(recipeId);
-        verify(recipeRepository, never()).deleteById(any());
+        verify(recipeRepository).findById(recipeId);
+        verify(recipeRepository, never()).delete(any());
     }
 
     @Test
@@ -185,8 +306,8 @@ class RecipeServiceTest {
                 .isVegetarian(true)
                 .build();
         
-        when(ingredientRepository.findByNameIgnoreCase("tomato"))
-                .thenReturn(Optional.of(vegetarianIngredient));
+        when(ingredientRepository.findAllByLowerCaseNameIn(new String[]{"tomato"}))
+                .thenReturn(List.of(vegetarianIngredient));
         when(recipeMapper.fromCreateRequestDto(mockRequestDto, processedIngredients))
                 .thenReturn(recipeWithoutChildren);
         when(recipeRepository.save(any(Recipe.class))).thenReturn(mockRecipe);
@@ -197,7 +318,8 @@ class RecipeServiceTest {
 
         // Then
         assertThat(result).isEqualTo(mockRecipeDto);
-        verify(ingredientRepository).findByNameIgnoreCase("tomato");
+        verify(ingredientRepository).findAllByLowerCaseNameIn(new String[]{"tomato"});
+        verify(ingredientRepository, never()).insertMissing(any(), any());
         verify(recipeMapper).fromCreateRequestDto(mockRequestDto, processedIngredients);
         verify(recipeRepository, times(1)).save(any(Recipe.class)); // Save called once
         verify(recipeMapper).toDto(mockRecipe);
@@ -241,9 +363,10 @@ class RecipeServiceTest {
                 .isVegetarian(true)
                 .build();
 
-        when(ingredientRepository.findByNameIgnoreCase(newIngredientName))
-                .thenReturn(Optional.empty());
-        when(ingredientRepository.save(any(Ingredient.class))).thenReturn(newIngredient);
+        when(ingredientRepository.findAllByLowerCaseNameIn(new String[]{"newingredient"}))
+                .thenReturn(List.of());
+        when(ingredientRepository.insertMissing(new String[]{newIngredientName}, new Boolean[]{true}))
+                .thenReturn(List.of(newIngredient));
         when(recipeMapper.fromCreateRequestDto(eq(requestWithNewIngredient), any()))
                 .thenReturn(recipeWithoutChildren);
         when(recipeRepository.save(any(Recipe.class))).thenReturn(mockRecipe);
@@ -254,18 +377,14 @@ class RecipeServiceTest {
 
         // Then
         assertThat(result).isEqualTo(mockRecipeDto);
-        verify(ingredientRepository).findByNameIgnoreCase(newIngredientName);
-        verify(ingredientRepository).save(argThat(ingredient -> 
-                ingredient.getName().equals(newIngredientName) && 
-                ingredient.getIsVegetarian().equals(true)
-        ));
+        verify(recipeMapper).fromCreateRequestDto(requestWithNewIngredient, List.of(newIngredient));
+        verify(ingredientRepository).insertMissing(new String[]{newIngredientName}, new Boolean[]{true});
     }
 
     @Test
     @DisplayName("Should update recipe successfully")
     void shouldUpdateRecipeSuccessfully() {
         // Given
-        List<Ingredient> processedIngredients = Arrays.asList(vegetarianIngredient);
         Recipe existingRecipe = Recipe.builder()
                 .id(recipeId)
                 .title("Old Title")
@@ -275,32 +394,220 @@ class RecipeServiceTest {
                 .ingredients(new ArrayList<>())
                 .instructions(new ArrayList<>())
                 .build();
+        RecipeIngredient newIngredient = RecipeIngredient.builder()
+                .recipeId(recipeId)
+                .ingredientId(vegetarianIngredient.getId())
+                .build();
+        Instruction newInstruction = Instruction.builder()
+                .id(UUID.randomUUID())
+                .recipeId(recipeId)
+                .stepNumber(1)
+                .build();
         
         when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(existingRecipe));
-        when(ingredientRepository.findByNameIgnoreCase("tomato"))
-                .thenReturn(Optional.of(vegetarianIngredient));
-        when(ingredientMapper.fromIngredientsAndDtos(any(), any(), any()))
-                .thenReturn(new ArrayList<>());
-        when(instructionMapper.fromRequestDto(any(), any()))
-                .thenReturn(new ArrayList<>());
-        when(recipeRepository.save(any(Recipe.class))).thenReturn(existingRecipe);
+        when(ingredientRepository.findAllByLowerCaseNameIn(new String[]{"tomato"}))
+                .thenReturn(List.of(vegetarianIngredient));
+        when(ingredientMapper.fromIngredientAndDto(vegetarianIngredient, mockRequestDto.getIngredients().get(0), recipeId))
+                .thenReturn(newIngredient);
+        when(instructionMapper.fromRequestDto(mockRequestDto.getInstructions().get(0), recipeId, 1))
+                .thenReturn(newInstruction);
 
         // When
-        recipeService.updateRecipe(recipeId, mockRequestDto);
+        recipeService.updateRecipe(recipeId, mockRequestDto, null);
 
         // Then
         verify(recipeRepository).findById(recipeId);
-        verify(ingredientRepository).findByNameIgnoreCase("tomato");
-        verify(recipeRepository).flush(); // Should flush after clearing collections
-        verify(ingredientMapper).fromIngredientsAndDtos(any(), any(), any());
-        verify(instructionMapper).fromRequestDto(any(), any());
-        verify(recipeRepository).save(any(Recipe.class));
+        verify(ingredientRepository).findAllByLowerCaseNameIn(new String[]{"tomato"});
+        verify(ingredientRepository, never()).insertMissing(any(), any());
+        verify(recipeRepository, never()).flush(); // Nothing is deleted then re-inserted anymore
+        verify(recipeRepository, never()).save(any()); // Managed entity: dirty checking and cascade write it
+        verify(recipeRepository).refreshSearchColumns(recipeId);
+        verify(recipeIngredientIndex).refreshAfterCommit(List.of(recipeId));
         
         // Verify the recipe fields were updated
         assertThat(existingRecipe.getTitle()).isEqualTo("Dummy Recipe Title");
         assertThat(existingRecipe.getDescription()).isEqualTo("Dummy Recipe Description");
         assertThat(existingRecipe.getServings()).isEqualTo(4);
         assertThat(existingRecipe.getIsVegetarian()).isTrue();
+        assertThat(existingRecipe.getIngredients()).singleElement().isSameAs(newIngredient);
+        assertThat(existingRecipe.getInstructions()).singleElement().isSameAs(newInstruction);
+        assertThat(newIngredient.getRecipe()).isSameAs(existingRecipe);
+        assertThat(newInstruction.getRecipe()).isSameAs(existingRecipe);
+    }
+
+    @Test
+    @DisplayName("Should only touch the children that change on update, keeping instruction IDs")
+    void shouldDiffChildrenOnUpdate() {
+        // Given
+        UUID firstStepId = UUID.randomUUID();
+        Recipe existingRecipe = Recipe.builder()
+                .id(recipeId)
+                .title("Old Title")
+                .servings(2)
+                .isVegetarian(false)
+                .build();
+        RecipeIngredient tomato = RecipeIngredient.builder()
+                .recipeId(recipeId)
+                .ingredientId(vegetarianIngredient.getId())
+                .recipe(existingRecipe)
+                .quantity(new BigDecimal("2.00"))
+                .unit("pieces")
+                .build();
+        RecipeIngredient chicken = RecipeIngredient.builder()
+                .recipeId(recipeId)
+                .ingredientId(nonVegetarianIngredient.getId())
+                .recipe(existingRecipe)
+                .quantity(BigDecimal.ONE)
+                .build();
+        existingRecipe.getIngredients().addAll(List.of(tomato, chicken));
+        existingRecipe.getInstructions().addAll(List.of(
+                Instruction.builder().id(firstStepId).recipeId(recipeId).stepNumber(1).content("Old step").recipe(existingRecipe).build(),
+                Instruction.builder().id(UUID.randomUUID()).recipeId(recipeId).stepNumber(2).content("Removed step").recipe(existingRecipe).build()
+        ));
+
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(existingRecipe));
+        when(ingredientRepository.findAllByLowerCaseNameIn(new String[]{"tomato"}))
+                .thenReturn(List.of(vegetarianIngredient));
+
+        // When
+        recipeService.updateRecipe(recipeId, mockRequestDto, null);
+
+        // Then
+        verifyNoInteractions(ingredientMapper, instructionMapper);
+        assertThat(existingRecipe.getIngredients()).singleElement().isSameAs(tomato);
+        assertThat(tomato.getQuantity()).isEqualByComparingTo("2"); // Same quantity: left as stored
+        assertThat(tomato.getQuantity().scale()).isEqualTo(2);
+        assertThat(existingRecipe.getInstructions()).singleElement().satisfies(instruction -> {
+            assertThat(instruction.getId()).isEqualTo(firstStepId);
+            assertThat(instruction.getStepNumber()).isEqualTo(1);
+            assertThat(instruction.getContent()).isEqualTo("Slice and dice tomatoes.");
+        });
+        assertThat(existingRecipe.getIsVegetarian()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject the same ingredient twice on update")
+    void shouldRejectDuplicateIngredientOnUpdate() {
+        // Given
+        Recipe existingRecipe = Recipe.builder().id(recipeId).title("Old Title").servings(2).build();
+        mockRequestDto.setIngredients(List.of(
+                SaveRecipeRequestDto.IngredientRequestDto.builder().name("tomato").quantity(BigDecimal.ONE).build(),
+                SaveRecipeRequestDto.IngredientRequestDto.builder().name("Tomato").quantity(BigDecimal.TEN).build()
+        ));
+
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(existingRecipe));
+        when(ingredientRepository.findAllByLowerCaseNameIn(new String[]{"tomato"}))
+                .thenReturn(List.of(vegetarianIngredient));
+        when(ingredientMapper.fromIngredientAndDto(any(), any(), any())).thenReturn(new RecipeIngredient());
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.updateRecipe(recipeId, mockRequestDto, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Duplicate ingredient: Tomato");
+    }
+
+    @Test
+    @DisplayName("Should refuse to update a recipe modified since the expected version")
+    void shouldRefuseToUpdateModifiedRecipe() {
+        // Given
+        mockRecipe.setVersion(3L);
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockRecipe));
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.updateRecipe(recipeId, mockRequestDto, Set.of(2L)))
+                .isInstanceOf(RecipeVersionMismatchException.class);
+        assertThat(mockRecipe.getTitle()).isEqualTo("Dummy Recipe Title");
+        verifyNoInteractions(ingredientRepository);
+        verify(recipeRepository, never()).refreshSearchColumns(any(UUID.class));
+    }
+
+    @Test
+    @DisplayName("Should update a recipe at the expected version and touch it, so that its version is bumped")
+    void shouldUpdateRecipeAtExpectedVersion() {
+        // Given
+        mockRecipe.setVersion(3L);
+        mockRecipe.setUpdatedAt(Instant.parse("2024-01-15T10:30:00Z"));
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockRecipe));
+
+        // When
+        recipeService.patchRecipe(recipeId, PatchRecipeRequestDto.builder().servingSize(6).build(), Set.of(2L, 3L));
+
+        // Then
+        assertThat(mockRecipe.getServings()).isEqualTo(6);
+        assertThat(mockRecipe.getUpdatedAt()).isAfter(Instant.parse("2024-01-15T10:30:00Z"));
+    }
+
+    @Test
+    @DisplayName("Should read the version of a cached recipe from the cache, and of others alone from the database")
+    void shouldGetRecipeVersionWithoutLoadingRecipe() {
+        // Given
+        UUID uncachedId = UUID.randomUUID();
+        mockRecipeDto.setVersion(3L);
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(mockRecipe));
+        when(recipeDtoLoader.toDtos(List.of(mockRecipe), RecipeFields.ALL)).thenReturn(List.of(mockRecipeDto));
+        when(recipeRepository.findVersionById(uncachedId)).thenReturn(Optional.of(7L));
+        recipeService.getRecipeById(recipeId, RecipeFields.ALL);
+
+        // When / Then
+        assertThat(recipeService.getRecipeVersion(recipeId)).isEqualTo(3L);
+        assertThat(recipeService.getRecipeVersion(uncachedId)).isEqualTo(7L);
+        verify(recipeRepository, never()).findVersionById(recipeId);
+        verify(recipeRepository, never()).findById(uncachedId);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when reading the version of a non-existent recipe")
+    void shouldThrowExceptionWhenGettingVersionOfNonExistentRecipe() {
+        // Given
+        when(recipeRepository.findVersionById(recipeId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.getRecipeVersion(recipeId))
+                .isInstanceOf(RecipeNotFoundException.class)
+                .hasMessage("Recipe not found with ID: " + recipeId);
+    }
+
+    @Test
+    @DisplayName("Should only update the fields present in a patch")
+    void shouldPatchPresentFieldsOnly() {
+        // Given
+        Recipe existingRecipe = Recipe.builder()
+                .id(recipeId)
+                .title("Old Title")
+                .description("Old Description")
+                .servings(2)
+                .isVegetarian(false)
+                .build();
+        existingRecipe.getInstructions().add(
+                Instruction.builder().id(UUID.randomUUID()).recipeId(recipeId).stepNumber(1).content("Step").build());
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.of(existingRecipe));
+
+        // When
+        recipeService.patchRecipe(recipeId, PatchRecipeRequestDto.builder().title("New Title").build(), null);
+
+        // Then
+        assertThat(existingRecipe.getTitle()).isEqualTo("New Title");
+        assertThat(existingRecipe.getDescription()).isEqualTo("Old Description");
+        assertThat(existingRecipe.getServings()).isEqualTo(2);
+        assertThat(existingRecipe.getIsVegetarian()).isFalse();
+        assertThat(existingRecipe.getInstructions()).hasSize(1);
+        verifyNoInteractions(ingredientRepository, ingredientMapper, instructionMapper, recipeIngredientIndex);
+        verify(recipeRepository).refreshSearchColumns(recipeId);
+        verify(recipeCache).invalidateAfterCommit(recipeId);
+        verify(recipeSearchCache).invalidateAllAfterCommit();
+    }
+
+    @Test
+    @DisplayName("Should throw exception when patching non-existent recipe")
+    void shouldThrowExceptionWhenPatchingNonExistentRecipe() {
+        // Given
+        when(recipeRepository.findById(recipeId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> recipeService.patchRecipe(recipeId, PatchRecipeRequestDto.builder().title("New Title").build(), null))
+                .isInstanceOf(RecipeNotFoundException.class)
+                .hasMessage("Recipe not found with ID: " + recipeId);
+        verify(recipeRepository, never()).refreshSearchColumns(any(UUID.class));
     }
 
     @Test
@@ -310,7 +617,7 @@ class RecipeServiceTest {
         when(recipeRepository.findById(recipeId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> recipeService.updateRecipe(recipeId, mockRequestDto))
+        assertThatThrownBy(() -> recipeService.updateRecipe(recipeId, mockRequestDto, null))
                 .isInstanceOf(RecipeNotFoundException.class)
                 .hasMessage("Recipe not found with ID: " + recipeId);
         
@@ -319,4 +626,372 @@ class RecipeServiceTest {
         verify(recipeRepository, never()).save(any());
         verify(recipeRepository, never()).flush();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return a page with a next cursor when more recipes match than the page size")
+    void shouldReturnPageWithNextCursorWhenMoreRecipesMatch() {
+        // Given
+        Recipe newest = createRecipeAt(Instant.parse("2024-01-03T00:00:00Z"));
+        Recipe middle = createRecipeAt(Instant.parse("2024-01-02T00:00:00Z"));
+        Recipe oldest = createRecipeAt(Instant.parse("2024-01-01T00:00:00Z"));
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder().pageSize(2).build();
+
+        when(recipeRepository.findRecipesWithFilters(any(), any(), any(), any(), any(), any(), any(), any(),
+                eq(RecipeCursor.FIRST_PAGE.getCreatedAt()), eq(RecipeCursor.FIRST_PAGE.getId()), eq(3)))
+                .thenReturn(List.of(newest, middle, oldest));
+        when(recipeDtoLoader.toDtos(List.of(newest, middle), RecipeFields.ALL)).thenReturn(List.of(mockRecipeDto, mockRecipeDto));
+
+        // When
+        CursorPage<RecipeDto> result = recipeService.searchRecipes(criteria, RecipeFields.ALL);
+
+        // Then
+        assertThat(result.getItems()).hasSize(2);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(RecipeCursor.decode(result.getNextCursor()))
+                .isEqualTo(new RecipeCursor(middle.getCreatedAt(), middle.getId()));
+        verify(recipeDtoLoader).toDtos(List.of(newest, middle), RecipeFields.ALL);
+    }
+
+    @Test
+    @DisplayName("Should resume from the cursor and report the last page")
+    void shouldResumeFromCursorAndReportLastPage() {
+        // Given
+        Recipe last = createRecipeAt(Instant.parse("2024-01-01T00:00:00Z"));
+        RecipeCursor cursor = new RecipeCursor(Instant.parse("2024-01-02T00:00:00Z"), UUID.randomUUID());
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder()
+                .cursor(cursor.encode())
+                .pageSize(2)
+                .build();
+
+        when(recipeRepository.findRecipesWithFilters(any(), any(), any(), any(), any(), any(), any(), any(),
+                eq(cursor.getCreatedAt()), eq(cursor.getId()), eq(3)))
+                .thenReturn(List.of(last));
+        when(recipeDtoLoader.toDtos(List.of(last), RecipeFields.ALL)).thenReturn(List.of(mockRecipeDto));
+
+        // When
+        CursorPage<RecipeDto> result = recipeService.searchRecipes(criteria, RecipeFields.ALL);
+
+        // Then
+        assertThat(result.getItems()).containsExactly(mockRecipeDto);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should push normalised ingredient filters down to the query")
+    void shouldPushNormalisedIngredientFiltersDownToTheQuery() {
+        // Given
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder()
+                .includeIngredients(List.of("  Tomato ", "tomato", "50%_off"))
+                .excludeIngredients(List.of("Pork"))
+                .instructionsContent("wok")
+                .build();
+
+        when(recipeRepository.findRecipesWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
+
+        // When
+        CursorPage<RecipeDto> result = recipeService.searchRecipes(criteria, RecipeFields.ALL);
+
+        // Then
+        assertThat(result.getItems()).isEmpty();
+        verify(recipeRepository).findRecipesWithFilters(
+                isNull(), isNull(), isNull(), isNull(),
+                eq("%wok%"),
+                eq(new String[]{"%tomato%", "%50\\%\\_off%"}),
+                eq(new String[]{"%pork%"}),
+                eq(new UUID[0]),
+                eq(RecipeCursor.FIRST_PAGE.getCreatedAt()),
+                eq(RecipeCursor.FIRST_PAGE.getId()),
+                eq(RecipeSearchCriteria.DEFAULT_PAGE_SIZE + 1));
+        verifyNoInteractions(recipeMapper);
+        verify(recipeDtoLoader).toDtos(List.of(), RecipeFields.ALL);
+    }
+
+    @Test
+    @DisplayName("Should restrict the query to the recipes found by the ingredient index")
+    void shouldRestrictQueryToIndexCandidates() {
+        // Given
+        Recipe match = createRecipeAt(Instant.parse("2024-01-01T00:00:00Z"));
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder()
+                .includeIngredients(List.of(" Tomato"))
+                .excludeIngredients(List.of("PORK"))
+                .isVegetarian(true)
+                .build();
+
+        when(recipeIngredientIndex.findCandidates(List.of("tomato"), List.of("pork")))
+                .thenReturn(Optional.of(List.of(match.getId())));
+        when(recipeRepository.findRecipesWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(match));
+        when(recipeDtoLoader.toDtos(List.of(match), RecipeFields.ALL)).thenReturn(List.of(mockRecipeDto));
+
+        // When
+        CursorPage<RecipeDto> result = recipeService.searchRecipes(criteria, RecipeFields.ALL);
+
+        // Then
+        assertThat(result.getItems()).containsExactly(mockRecipeDto);
+        verify(recipeRepository).findRecipesWithFilters(
+                eq(true), isNull(), isNull(), isNull(), isNull(),
+                eq(new String[0]),
+                eq(new String[0]),
+                eq(new UUID[]{match.getId()}),
+                eq(RecipeCursor.FIRST_PAGE.getCreatedAt()),
+                eq(RecipeCursor.FIRST_PAGE.getId()),
+                eq(RecipeSearchCriteria.DEFAULT_PAGE_SIZE + 1));
+        assertThat(meterRegistry.get(RecipeMetrics.SEARCH_CANDIDATES)
+                .tag("shape", "vegetarian+include+exclude")
+                .summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get(RecipeMetrics.SEARCH_QUERY)
+                .tags("shape", "vegetarian+include+exclude", "path", "index")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not query the database when the ingredient index finds no recipe")
+    void shouldSkipQueryWhenIndexFindsNothing() {
+        // Given
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder()
+                .includeIngredients(List.of("saffron"))
+                .build();
+        when(recipeIngredientIndex.findCandidates(List.of("saffron"), List.of())).thenReturn(Optional.of(List.of()));
+
+        // When
+        CursorPage<RecipeDto> result = recipeService.searchRecipes(criteria, RecipeFields.ALL);
+
+        // Then
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.isHasNext()).isFalse();
+        verifyNoInteractions(recipeRepository, recipeDtoLoader);
+    }
+
+    @Test
+    @DisplayName("Should serve an equivalent search from the cache until a recipe is written")
+    void shouldServeEquivalentSearchFromCacheUntilWrite() {
+        // Given
+        Recipe newest = createRecipeAt(Instant.parse("2024-01-02T00:00:00Z"));
+        Recipe oldest = createRecipeAt(Instant.parse("2024-01-01T00:00:00Z"));
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder()
+                .includeIngredients(List.of("Tomato", "basil"))
+                .build();
+        RecipeSearchCriteria equivalentCriteria = RecipeSearchCriteria.builder()
+                .includeIngredients(List.of(" BASIL", "tomato", "Basil"))
+                .build();
+
+        when(recipeRepository.findRecipesWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(newest, oldest));
+        when(recipeRepository.findAllById(List.of(newest.getId(), oldest.getId())))
+                .thenReturn(List.of(oldest, newest));
+        when(recipeDtoLoader.toDtos(List.of(newest, oldest), RecipeFields.ALL)).thenAnswer(invocation ->
+                invocation.<List<Recipe>>getArgument(0).stream()
+                        .map(recipe -> RecipeDto.builder().id(recipe.getId()).build())
+                        .toList());
+
+        // When
+        recipeService.searchRecipes(criteria, RecipeFields.ALL);
+        CursorPage<RecipeDto> cached = recipeService.searchRecipes(equivalentCriteria, RecipeFields.ALL);
+        recipeSearchCache.invalidateAllAfterCommit();
+        recipeService.searchRecipes(equivalentCriteria, RecipeFields.ALL);
+
+        // Then
+        assertThat(cached.getItems()).extracting(RecipeDto::getId).containsExactly(newest.getId(), oldest.getId());
+        verify(recipeRepository, times(2))
+                .findRecipesWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt());
+        verify(recipeRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should return the list view of a page without loading recipes, sharing cached pages with the full view")
+    void shouldReturnSummariesWithoutLoadingRecipes() {
+        // Given
+        Recipe newest = createRecipeAt(Instant.parse("2024-01-03T00:00:00Z"));
+        Recipe middle = createRecipeAt(Instant.parse("2024-01-02T00:00:00Z"));
+        Recipe oldest = createRecipeAt(Instant.parse("2024-01-01T00:00:00Z"));
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder().isVegetarian(true).pageSize(2).build();
+
+        when(recipeRepository.findSummariesWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), eq(3)))
+                .thenReturn(List.of(summary(newest), summary(middle), summary(oldest)));
+        when(recipeRepository.findSummariesByIdIn(new UUID[]{newest.getId(), middle.getId()}))
+                .thenReturn(List.of(summary(middle), summary(newest)));
+        when(recipeMapper.toSummaryDtos(any())).thenAnswer(invocation ->
+                invocation.<List<RecipeSummaryView>>getArgument(0).stream()
+                        .map(view -> RecipeSummaryDto.builder().id(view.getId()).build())
+                        .toList());
+
+        // When
+        CursorPage<RecipeSummaryDto> result = recipeService.searchRecipeSummaries(criteria);
+        CursorPage<RecipeSummaryDto> cached = recipeService.searchRecipeSummaries(criteria);
+
+        // Then
+        assertThat(result.getItems()).extracting(RecipeSummaryDto::getId).containsExactly(newest.getId(), middle.getId());
+        assertThat(RecipeCursor.decode(result.getNextCursor()))
+                .isEqualTo(new RecipeCursor(middle.getCreatedAt(), middle.getId()));
+        assertThat(cached.getItems()).extracting(RecipeSummaryDto::getId).containsExactly(newest.getId(), middle.getId());
+        assertThat(cached.getNextCursor()).isEqualTo(result.getNextCursor());
+        verify(recipeRepository, never())
+                .findRecipesWithFilters(any(), any(), any(), any(), any(), any(), any(), any(), any(), any(), anyInt());
+        verify(recipeRepository, never()).findAllById(any());
+        verifyNoInteractions(recipeDtoLoader);
+    }
+
+    @Test
+    @DisplayName("Should return text search results in rank order with a next cursor")
+    void shouldReturnTextSearchResultsInRankOrder() {
+        // Given
+        Recipe best = createRecipeAt(Instant.parse("2024-01-01T00:00:00Z"));
+        Recipe second = createRecipeAt(Instant.parse("2024-01-02T00:00:00Z"));
+        Recipe third = createRecipeAt(Instant.parse("2024-01-03T00:00:00Z"));
+        RecipeDto secondDto = RecipeDto.builder().id(second.getId()).build();
+        RecipeTextSearchCriteria criteria = RecipeTextSearchCriteria.builder()
+                .query("Chicken, cur")
+                .pageSize(2)
+                .build();
+
+        when(recipeRepository.searchByText("chicken & cur:*",
+                RecipeRankCursor.FIRST_PAGE.getRank(), RecipeRankCursor.FIRST_PAGE.getId(), 3))
+                .thenReturn(List.of(hit(best.getId(), 0.9f), hit(second.getId(), 0.5f), hit(third.getId(), 0.1f)));
+        // The repository returns recipes in no particular order
+        when(recipeRepository.findAllById(List.of(best.getId(), second.getId())))
+                .thenReturn(List.of(second, best));
+        when(recipeDtoLoader.toDtos(List.of(best, second), RecipeFields.ALL)).thenReturn(List.of(mockRecipeDto, secondDto));
+
+        // When
+        CursorPage<RecipeDto> result = recipeService.searchRecipesByText(criteria);
+
+        // Then
+        assertThat(result.getItems()).containsExactly(mockRecipeDto, secondDto);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(RecipeRankCursor.decode(result.getNextCursor()))
+                .isEqualTo(new RecipeRankCursor(0.5f, second.getId()));
+        verify(recipeDtoLoader).toDtos(List.of(best, second), RecipeFields.ALL);
+    }
+
+    @Test
+    @DisplayName("Should reject text search queries without any letter or digit")
+    void shouldRejectTextSearchWithoutWords() {
+        // Given
+        RecipeTextSearchCriteria criteria = RecipeTextSearchCriteria.builder().query(" &:* | ").build();
+
+        // When & Then
+        assertThatThrownBy(criteria::validate)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Search query must contain at least one letter or digit");
+    }
+
+    @Test
+    @DisplayName("Should resolve ingredients in bulk, keeping request order and reusing names ignoring case")
+    void shouldResolveIngredientsInBulk() {
+        // Given
+        Ingredient basil = Ingredient.builder().id(UUID.randomUUID()).name("Basil").isVegetarian(true).build();
+        Ingredient garlic = Ingredient.builder().id(UUID.randomUUID()).name("garlic").isVegetarian(true).build();
+        SaveRecipeRequestDto request = SaveRecipeRequestDto.builder()
+                .title("Dummy Recipe Title")
+                .servingSize(2)
+                .ingredients(List.of(
+                        ingredientRequest("basil"),
+                        ingredientRequest("Tomato"),
+                        ingredientRequest("garlic"),
+                        ingredientRequest("BASIL")
+                ))
+                .instructions(List.of())
+                .build();
+        List<Ingredient> expectedIngredients = List.of(basil, vegetarianIngredient, garlic, basil);
+
+        when(ingredientRepository.findAllByLowerCaseNameIn(new String[]{"basil", "tomato", "garlic"}))
+                .thenReturn(List.of(vegetarianIngredient));
+        // "garlic" is inserted; "basil" was created concurrently, so the insert skips it
+        when(ingredientRepository.insertMissing(new String[]{"basil", "garlic"}, new Boolean[]{true, true}))
+                .thenReturn(List.of(garlic));
+        when(ingredientRepository.findAllByLowerCaseNameIn(new String[]{"basil"}))
+                .thenReturn(List.of(basil));
+        when(recipeMapper.fromCreateRequestDto(request, expectedIngredients)).thenReturn(Recipe.builder().build());
+        when(recipeRepository.save(any(Recipe.class))).thenReturn(mockRecipe);
+        when(recipeMapper.toDto(mockRecipe)).thenReturn(mockRecipeDto);
+
+        // When
+        recipeService.createRecipe(request);
+
+        // Then
+        verify(recipeMapper).fromCreateRequestDto(request, expectedIngredients);
+        verify(ingredientRepository, never()).save(any());
+        assertThat(meterRegistry.get(RecipeMetrics.INGREDIENT_UPSERT).tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RecipeMetrics.INGREDIENT_UPSERT).tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RecipeMetrics.INGREDIENT_UPSERT).tag("result", "race").counter().count()).isEqualTo(1);
+    }
+
+    /**
+     * Helper method to create a vegetarian ingredient request
+     */
+    private static SaveRecipeRequestDto.IngredientRequestDto ingredientRequest(String name) {
+        return SaveRecipeRequestDto.IngredientRequestDto.builder()
+                .name(name)
+                .quantity(BigDecimal.ONE)
+                .isVegetarian(true)
+                .build();
+    }
+
+    /**
+     * Helper method to create a full-text search hit
+     */
+    private static RecipeSearchHit hit(UUID id, float rank) {
+        return new RecipeSearchHit() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public float getRank() {
+                return rank;
+            }
+        };
+    }
+
+    /**
+     * Helper method to create the list view of a recipe
+     */
+    private static RecipeSummaryView summary(Recipe recipe) {
+        return new RecipeSummaryView() {
+            @Override
+            public UUID getId() {
+                return recipe.getId();
+            }
+
+            @Override
+            public String getTitle() {
+                return recipe.getTitle();
+            }
+
+            @Override
+            public Integer getServings() {
+                return recipe.getServings();
+            }
+
+            @Override
+            public Boolean getIsVegetarian() {
+                return true;
+            }
+
+            @Override
+            public int getIngredientCount() {
+                return 0;
+            }
+
+            @Override
+            public Instant getCreatedAt() {
+                return recipe.getCreatedAt();
+            }
+        };
+    }
+
+    /**
+     * Helper method to create a persisted-looking recipe
+     */
+    private Recipe createRecipeAt(Instant createdAt) {
+        return Recipe.builder()
+                .id(UUID.randomUUID())
+                .title("Dummy Recipe Title")
+                .servings(2)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,193 @@
+package app.recipe.cookbook.recipe;
+
+import app.recipe.cookbook.common.config.PostgresContainerConfig;
+import app.recipe.cookbook.recipe.cache.RecipeCache;
+import app.recipe.cookbook.recipe.cache.RecipeSearchCache;
+import app.recipe.cookbook.recipe.db.entity.Instruction;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.entity.RecipeIngredient;
+import app.recipe.cookbook.recipe.dto.request.PatchRecipeRequestDto;
+import app.recipe.cookbook.recipe.dto.request.SaveRecipeRequestDto;
+import app.recipe.cookbook.recipe.index.RecipeIngredientIndex;
+import app.recipe.cookbook.recipe.mapper.IngredientMapper;
+import app.recipe.cookbook.recipe.mapper.InstructionMapper;
+import app.recipe.cookbook.recipe.mapper.RecipeMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the rows written by PUT / PATCH: children are diffed against the stored ones,
+ * so unchanged ingredients and instructions must not be deleted and re-inserted.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "cookbook.search.ingredient-index.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({
+        PostgresContainerConfig.class,
+        RecipeService.class, RecipeDtoLoader.class, RecipeCache.class, RecipeSearchCache.class, RecipeIngredientIndex.class,
+        RecipeMapper.class, IngredientMapper.class, InstructionMapper.class, RecipeMetrics.class,
+        RecipeUpdateStatementCountTest.MeterRegistryConfig.class
+})
+@DisplayName("Recipe update statement count Tests")
+class RecipeUpdateStatementCountTest {
+
+    @TestConfiguration
+    static class MeterRegistryConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    private RecipeFixtures fixtures;
+    private Statistics statistics;
+    private UUID recipeId;
+    private List<UUID> instructionIds;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new RecipeFixtures(entityManager);
+        final Recipe recipe = persistRecipe("Omelette", List.of("egg", "butter", "salt"), List.of("Beat", "Melt", "Cook"));
+        recipeId = recipe.getId();
+        instructionIds = recipe.getInstructions().stream().map(Instruction::getId).toList();
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should only update the recipe row when PUT changes the title")
+    void shouldOnlyUpdateRecipeWhenTitleChanges() {
+        // When
+        recipeService.updateRecipe(recipeId, request("Cheese omelette",
+                List.of(ingredient("egg", "1"), ingredient("butter", "1"), ingredient("salt", "1")),
+                List.of("Beat", "Melt", "Cook")), null);
+        entityManager.flush();
+
+        // Then
+        assertWrites(Recipe.class, 0, 1, 0);
+        assertWrites(RecipeIngredient.class, 0, 0, 0);
+        assertWrites(Instruction.class, 0, 0, 0);
+        assertThat(storedInstructionIds()).isEqualTo(instructionIds);
+    }
+
+    @Test
+    @DisplayName("Should only write the children that PUT changes")
+    void shouldOnlyWriteChangedChildren() {
+        // When: egg quantity changed, salt replaced by chives, second step reworded and third one dropped
+        recipeService.updateRecipe(recipeId, request("Omelette",
+                List.of(ingredient("egg", "3"), ingredient("butter", "1.00"), ingredient("chives", "1")),
+                List.of("Beat", "Melt the butter")), null);
+        entityManager.flush();
+
+        // Then: the recipe row itself is only touched to bump its version
+        assertWrites(Recipe.class, 0, 1, 0);
+        assertWrites(RecipeIngredient.class, 1, 1, 1);
+        assertWrites(Instruction.class, 0, 1, 1);
+        assertThat(storedInstructionIds()).isEqualTo(instructionIds.subList(0, 2));
+        entityManager.clear();
+        assertThat(entityManager.find(Recipe.class, recipeId).getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should leave children alone when PATCH only changes the servings")
+    void shouldLeaveChildrenAloneOnPatch() {
+        // When
+        recipeService.patchRecipe(recipeId, PatchRecipeRequestDto.builder().servingSize(4).build(), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertWrites(Recipe.class, 0, 1, 0);
+        assertWrites(RecipeIngredient.class, 0, 0, 0);
+        assertWrites(Instruction.class, 0, 0, 0);
+        assertThat(entityManager.find(Recipe.class, recipeId).getServings()).isEqualTo(4);
+    }
+
+    private void assertWrites(Class<?> entity, long inserts, long updates, long deletes) {
+        final EntityStatistics entityStatistics = statistics.getEntityStatistics(entity.getName());
+        assertThat(entityStatistics.getInsertCount()).as("%s inserts", entity.getSimpleName()).isEqualTo(inserts);
+        assertThat(entityStatistics.getUpdateCount()).as("%s updates", entity.getSimpleName()).isEqualTo(updates);
+        assertThat(entityStatistics.getDeleteCount()).as("%s deletes", entity.getSimpleName()).isEqualTo(deletes);
+    }
+
+    private List<UUID> storedInstructionIds() {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT i.id FROM Instruction i WHERE i.recipeId = :recipeId ORDER BY i.stepNumber", UUID.class)
+                .setParameter("recipeId", recipeId)
+                .getResultList();
+    }
+
+    private static SaveRecipeRequestDto request(
+            String title,
+            List<SaveRecipeRequestDto.IngredientRequestDto> ingredients,
+            List<String> steps) {
+        return SaveRecipeRequestDto.builder()
+                .title(title)
+                .description("Quick breakfast")
+                .servingSize(2)
+                .ingredients(ingredients)
+                .instructions(steps.stream()
+                        .map(step -> SaveRecipeRequestDto.InstructionRequestDto.builder().content(step).build())
+                        .toList())
+                .build();
+    }
+
+    private static SaveRecipeRequestDto.IngredientRequestDto ingredient(String name, String quantity) {
+        return SaveRecipeRequestDto.IngredientRequestDto.builder()
+                .name(name)
+                .quantity(new BigDecimal(quantity))
+                .isVegetarian(true)
+                .build();
+    }
+
+    /**
+     * Helper method to persist a vegetarian recipe with its own ingredients (quantity 1) and instructions
+     */
+    private Recipe persistRecipe(String title, List<String> ingredientNames, List<String> steps) {
+        return fixtures.persistRecipe(
+                Recipe.builder()
+                        .id(UUID.randomUUID())
+                        .title(title)
+                        .description("Quick breakfast")
+                        .servings(2)
+                        .isVegetarian(true)
+                        .build(),
+                ingredientNames, steps);
+    }
+}
@@ -0,0 +1,76 @@
+package app.recipe.cookbook.recipe.cache;
+
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecipeCache Tests")
+class RecipeCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RecipeCache recipeCache;
+    private UUID recipeId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recipeCache = new RecipeCache(100, Duration.ofMinutes(1), meterRegistry);
+        recipeId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should load once and record hits and misses")
+    void shouldLoadOnceAndRecordHitsAndMisses() {
+        // Given
+        RecipeDto recipe = RecipeDto.builder().id(recipeId).title("Omelette").build();
+
+        // When
+        recipeCache.get(recipeId, () -> recipe);
+        RecipeDto result = recipeCache.get(recipeId, () -> RecipeDto.builder().title("Reloaded").build());
+
+        // Then
+        assertThat(result).isSameAs(recipe);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "recipes").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "recipes").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should load again after an invalidation")
+    void shouldLoadAgainAfterInvalidation() {
+        // Given
+        recipeCache.get(recipeId, () -> RecipeDto.builder().title("Old").build());
+
+        // When
+        recipeCache.invalidateAfterCommit(recipeId);
+        RecipeDto result = recipeCache.get(recipeId, () -> RecipeDto.builder().title("New").build());
+
+        // Then
+        assertThat(result.getTitle()).isEqualTo("New");
+    }
+
+    @Test
+    @DisplayName("Should not keep a recipe loaded while a write was committed")
+    void shouldNotKeepRecipeLoadedDuringWrite() {
+        // Given: the write commits while the recipe is being loaded
+        RecipeDto loadedDuringWrite = recipeCache.get(recipeId, () -> {
+            recipeCache.invalidateAfterCommit(recipeId);
+            return RecipeDto.builder().title("Old").build();
+        });
+
+        // When
+        RecipeDto result = recipeCache.get(recipeId, () -> RecipeDto.builder().title("New").build());
+
+        // Then
+        assertThat(loadedDuringWrite.getTitle()).isEqualTo("Old");
+        assertThat(result.getTitle()).isEqualTo("New");
+    }
+}
@@ -0,0 +1,64 @@
+package app.recipe.cookbook.recipe.db.entity;
+
+import app.recipe.cookbook.common.config.PostgresContainerConfig;
+import app.recipe.cookbook.recipe.db.repository.IngredientRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(PostgresContainerConfig.class)
+@DisplayName("AssignedIdEntity Tests")
+class AssignedIdEntityTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Test
+    @DisplayName("Should persist a new entity with an assigned ID instead of merging it")
+    void shouldPersistNewEntity() {
+        // Given
+        Ingredient ingredient = Ingredient.builder()
+                .id(UUID.randomUUID())
+                .name("Egg")
+                .isVegetarian(true)
+                .build();
+        assertThat(ingredient.isNew()).isTrue();
+
+        // When
+        Ingredient saved = ingredientRepository.save(ingredient);
+
+        // Then: merge would have returned a managed copy
+        assertThat(saved).isSameAs(ingredient);
+        assertThat(saved.isNew()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not consider a loaded entity new")
+    void shouldNotConsiderLoadedEntityNew() {
+        // Given
+        UUID id = UUID.randomUUID();
+        entityManager.persistAndFlush(Ingredient.builder().id(id).name("Butter").isVegetarian(true).build());
+        entityManager.clear();
+
+        // When
+        Ingredient loaded = entityManager.find(Ingredient.class, id);
+
+        // Then
+        assertThat(loaded.isNew()).isFalse();
+    }
+}
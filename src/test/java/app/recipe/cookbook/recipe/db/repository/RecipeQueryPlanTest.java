@@ -0,0 +1,167 @@
+package app.recipe.cookbook.recipe.db.repository;
+
+import app.recipe.cookbook.common.config.PostgresContainerConfig;
+import app.recipe.cookbook.recipe.dto.request.RecipeCursor;
+import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks with EXPLAIN that the recipe and ingredient queries are served by the indexes of the migrations.
+ * The tables are filled (and analyzed) enough for the planner to prefer an index over a scan whenever one applies.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(PostgresContainerConfig.class)
+@DisplayName("Recipe query plan Tests")
+class RecipeQueryPlanTest {
+
+    private static final int RECIPES = 2000;
+    private static final int INGREDIENTS = 2000;
+    private static final int INGREDIENTS_PER_RECIPE = 3;
+    // One recipe in 100 is vegetarian, for 4 people: a selective filter
+    private static final int VEGETARIAN_EVERY = 100;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<UUID> ingredientIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        final List<Object[]> ingredientRows = new ArrayList<>();
+        for (int i = 0; i < INGREDIENTS; i++) {
+            final UUID id = UUID.randomUUID();
+            ingredientIds.add(id);
+            ingredientRows.add(new Object[]{id, "Ingredient " + i, i % 2 == 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ingredients (id, name, is_vegetarian) VALUES (?, ?, ?)", ingredientRows);
+
+        final Instant now = Instant.now();
+        final List<Object[]> recipeRows = new ArrayList<>();
+        final List<Object[]> recipeIngredientRows = new ArrayList<>();
+        for (int r = 0; r < RECIPES; r++) {
+            final UUID id = UUID.randomUUID();
+            final boolean vegetarian = r % VEGETARIAN_EVERY == 0;
+            final Timestamp createdAt = Timestamp.from(now.minus(Duration.ofMinutes(r)));
+            recipeRows.add(new Object[]{id, "Recipe " + r, vegetarian ? 4 : 1 + r % 8, vegetarian, createdAt, createdAt});
+            for (int i = 0; i < INGREDIENTS_PER_RECIPE; i++) {
+                recipeIngredientRows.add(new Object[]{id, ingredientIds.get((r + i) % INGREDIENTS), BigDecimal.ONE});
+            }
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO recipes (id, title, servings, is_vegetarian, created_at, updated_at, version)
+                VALUES (?, ?, ?, ?, ?, ?, 0)
+                """, recipeRows);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO recipes_ingredients (recipe_id, ingredient_id, quantity) VALUES (?, ?, ?)", recipeIngredientRows);
+
+        // Rows inserted by this (test) transaction are counted by ANALYZE
+        jdbcTemplate.execute("ANALYZE recipes, ingredients, recipes_ingredients");
+    }
+
+    @Test
+    @DisplayName("Should read a page of recipes newest first off the (created_at, id) index, without sorting")
+    void shouldPageRecipesOffCreatedAtIndex() {
+        // When
+        String plan = explainRecipesWithFilters(null, null);
+
+        // Then
+        assertThat(plan)
+                .contains("idx_recipe_created_at_id")
+                .doesNotContain("Seq Scan on recipes")
+                .doesNotContain("Sort Key: r.created_at");
+    }
+
+    @Test
+    @DisplayName("Should find vegetarian recipes by servings through the (is_vegetarian, servings) index")
+    void shouldFilterVegetarianByServingsThroughIndex() {
+        // When
+        String plan = explainRecipesWithFilters(true, 4);
+
+        // Then
+        assertThat(plan)
+                .contains("idx_recipe_vegetarian_servings")
+                .doesNotContain("Seq Scan on recipes");
+    }
+
+    @Test
+    @DisplayName("Should look ingredients up by lowercase name through the lower(name) index")
+    void shouldLookIngredientsUpThroughLowerNameIndex() {
+        // When
+        String plan = explain(IngredientRepository.FIND_ALL_BY_LOWER_CASE_NAME_IN, query -> query
+                .setParameter("names", new String[]{"ingredient 1", "ingredient 2"}));
+
+        // Then
+        assertThat(plan)
+                .contains("idx_ingredient_name_lower")
+                .doesNotContain("Seq Scan on ingredients");
+    }
+
+    @Test
+    @DisplayName("Should find the recipes of an ingredient through the ingredient_id index")
+    void shouldFindRecipesOfIngredientThroughIndex() {
+        // When
+        String plan = explain("SELECT ri.recipe_id FROM recipes_ingredients ri WHERE ri.ingredient_id = :ingredientId",
+                query -> query.setParameter("ingredientId", ingredientIds.get(0)));
+
+        // Then
+        assertThat(plan)
+                .contains("idx_recipe_ingredient_ingredient_id")
+                .doesNotContain("Seq Scan on recipes_ingredients");
+    }
+
+    private String explainRecipesWithFilters(Boolean isVegetarian, Integer servings) {
+        return explain(RecipeRepository.FIND_RECIPES_WITH_FILTERS, query -> query
+                .setParameter("isVegetarian", isVegetarian, StandardBasicTypes.BOOLEAN)
+                .setParameter("servings", servings, StandardBasicTypes.INTEGER)
+                .setParameter("minServings", null, StandardBasicTypes.INTEGER)
+                .setParameter("maxServings", null, StandardBasicTypes.INTEGER)
+                .setParameter("instructionsPattern", null, StandardBasicTypes.STRING)
+                .setParameter("includePatterns", new String[0])
+                .setParameter("excludePatterns", new String[0])
+                .setParameter("recipeIds", new UUID[0])
+                .setParameter("cursorCreatedAt", RecipeCursor.FIRST_PAGE.getCreatedAt())
+                .setParameter("cursorId", RecipeCursor.FIRST_PAGE.getId())
+                .setParameter("limit", RecipeSearchCriteria.MAX_PAGE_SIZE + 1));
+    }
+
+    /**
+     * @return the plan chosen for the query with the given parameters, one node per line
+     */
+    private String explain(String sql, Consumer<NativeQuery<?>> parameters) {
+        final NativeQuery<?> query = entityManager.getEntityManager()
+                .createNativeQuery("EXPLAIN " + sql)
+                .unwrap(NativeQuery.class);
+        parameters.accept(query);
+        return query.getResultList().stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,110 @@
+package app.recipe.cookbook.recipe.db.repository;
+
+import app.recipe.cookbook.common.config.PostgresContainerConfig;
+import app.recipe.cookbook.recipe.RecipeFixtures;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.dto.request.RecipeCursor;
+import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Include / exclude ingredient filters of {@link RecipeRepository#findRecipesWithFilters}, evaluated against
+ * the ingredient_ids signature maintained by {@link RecipeRepository#refreshSearchColumnsFor(UUID[])}.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(PostgresContainerConfig.class)
+@DisplayName("RecipeRepository ingredient filter Tests")
+class RecipeRepositoryIngredientFilterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    private RecipeFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new RecipeFixtures(entityManager);
+        final UUID omelette = fixtures.persistRecipe("Omelette", "Egg", "Butter", "Salt");
+        final UUID pancakes = fixtures.persistRecipe("Pancakes", "Egg", "Milk", "Flour");
+        final UUID carbonara = fixtures.persistRecipe("Carbonara", "Egg", "Bacon", "Pasta");
+        entityManager.flush();
+        recipeRepository.refreshSearchColumnsFor(new UUID[]{omelette, pancakes, carbonara});
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should keep recipes matching every include term")
+    void shouldMatchAllIncludeTerms() {
+        // When
+        List<String> result = search(List.of("egg", "MILK"), List.of());
+
+        // Then
+        assertThat(result).containsExactly("Pancakes");
+    }
+
+    @Test
+    @DisplayName("Should drop recipes with any excluded ingredient, matching terms as substrings")
+    void shouldDropRecipesWithAnyExcludedIngredient() {
+        // When
+        List<String> result = search(List.of("egg"), List.of("bac", "butt"));
+
+        // Then
+        assertThat(result).containsExactly("Pancakes");
+    }
+
+    @Test
+    @DisplayName("Should find nothing when an include term matches no ingredient")
+    void shouldFindNothingForUnknownIncludeTerm() {
+        // When
+        List<String> result = search(List.of("egg", "saffron"), List.of());
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore exclude terms matching no ingredient")
+    void shouldIgnoreUnknownExcludeTerm() {
+        // When
+        List<String> result = search(List.of(), List.of("saffron"));
+
+        // Then
+        assertThat(result).containsExactlyInAnyOrder("Omelette", "Pancakes", "Carbonara");
+    }
+
+    private List<String> search(List<String> include, List<String> exclude) {
+        final RecipeSearchCriteria criteria = RecipeSearchCriteria.builder()
+                .includeIngredients(include)
+                .excludeIngredients(exclude)
+                .build();
+        return recipeRepository.findRecipesWithFilters(
+                        null, null, null, null, null,
+                        criteria.getIncludeIngredientPatterns(),
+                        criteria.getExcludeIngredientPatterns(),
+                        new UUID[0],
+                        RecipeCursor.FIRST_PAGE.getCreatedAt(),
+                        RecipeCursor.FIRST_PAGE.getId(),
+                        RecipeSearchCriteria.MAX_PAGE_SIZE)
+                .stream()
+                .map(Recipe::getTitle)
+                .toList();
+    }
+}
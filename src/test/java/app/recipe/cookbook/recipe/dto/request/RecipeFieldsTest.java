@@ -0,0 +1,143 @@
+package app.recipe.cookbook.recipe.dto.request;
+
+import app.recipe.cookbook.common.config.JacksonConfig;
+import app.recipe.cookbook.common.dto.response.ProjectApiResponse;
+import app.recipe.cookbook.recipe.dto.domain.InstructionDto;
+import app.recipe.cookbook.recipe.dto.domain.RecipeDto;
+import app.recipe.cookbook.recipe.dto.domain.RecipeIngredientDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RecipeFields Tests")
+class RecipeFieldsTest {
+
+    private ObjectMapper objectMapper;
+    private RecipeDto recipe;
+
+    @BeforeEach
+    void setUp() {
+        final Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        new JacksonConfig().recipeFieldsCustomizer().customize(builder);
+        objectMapper = builder.build();
+
+        final UUID recipeId = UUID.randomUUID();
+        recipe = RecipeDto.builder()
+                .id(recipeId)
+                .title("Omelette")
+                .description("Breakfast staple")
+                .servings(1)
+                .isVegetarian(true)
+                .ingredients(List.of(RecipeIngredientDto.builder()
+                        .recipeId(recipeId)
+                        .ingredientId(UUID.randomUUID())
+                        .name("egg")
+                        .isVegetarian(true)
+                        .quantity(BigDecimal.valueOf(2))
+                        .unit("piece")
+                        .build()))
+                .instructions(List.of(InstructionDto.builder()
+                        .id(UUID.randomUUID())
+                        .recipeId(recipeId)
+                        .stepNumber(1)
+                        .content("Whisk the eggs")
+                        .build()))
+                .createdAt(Instant.parse("2024-01-15T10:30:00Z"))
+                .updatedAt(Instant.parse("2024-01-15T10:30:00Z"))
+                .version(3L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should select every property when no fields are given")
+    void shouldSelectAllWithoutFields() {
+        assertThat(RecipeFields.parse(null)).isSameAs(RecipeFields.ALL);
+        assertThat(RecipeFields.parse(" ")).isSameAs(RecipeFields.ALL);
+        assertThat(RecipeFields.parse(" , ")).isSameAs(RecipeFields.ALL);
+    }
+
+    @Test
+    @DisplayName("Should only include the children of the selected associations")
+    void shouldIncludeSelectedAssociations() {
+        // When
+        RecipeFields fields = RecipeFields.parse("id, title,ingredients.name");
+
+        // Then
+        assertThat(fields.includesIngredients()).isTrue();
+        assertThat(fields.includesInstructions()).isFalse();
+        assertThat(RecipeFields.parse("instructions").includesInstructions()).isTrue();
+        assertThat(RecipeFields.parse("title").includesIngredients()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject fields that are not properties of the recipe responses")
+    void shouldRejectUnknownFields() {
+        assertThatThrownBy(() -> RecipeFields.parse("id,calories"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field: calories");
+        assertThatThrownBy(() -> RecipeFields.parse("ingredients.calories"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field: ingredients.calories");
+        assertThatThrownBy(() -> RecipeFields.parse("title.length"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field: title.length");
+    }
+
+    @Test
+    @DisplayName("Should only serialise the selected properties")
+    void shouldSerialiseSelectedProperties() throws Exception {
+        // Given
+        RecipeFields fields = RecipeFields.parse("id,title,ingredients.name");
+
+        // When
+        JsonNode json = serialise(ProjectApiResponse.success(recipe), fields).get("data");
+
+        // Then
+        assertThat(json.fieldNames()).toIterable().containsExactlyInAnyOrder("id", "title", "ingredients");
+        assertThat(json.get("ingredients").get(0).fieldNames()).toIterable().containsExactly("name");
+    }
+
+    @Test
+    @DisplayName("Should serialise all the properties of an association named alone")
+    void shouldSerialiseWholeAssociation() throws Exception {
+        // When
+        JsonNode json = serialise(recipe, RecipeFields.parse("ingredients.name,ingredients"));
+
+        // Then
+        assertThat(json.fieldNames()).toIterable().containsExactly("ingredients");
+        assertThat(json.get("ingredients").get(0).size()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Should accept every property the recipe responses have")
+    void shouldAcceptEveryProperty() throws Exception {
+        // Given
+        JsonNode json = serialise(recipe, RecipeFields.ALL);
+        List<String> properties = new ArrayList<>();
+        json.fieldNames().forEachRemaining(properties::add);
+        json.get("ingredients").get(0).fieldNames().forEachRemaining(name -> properties.add("ingredients." + name));
+        json.get("instructions").get(0).fieldNames().forEachRemaining(name -> properties.add("instructions." + name));
+
+        // When
+        JsonNode selected = serialise(recipe, RecipeFields.parse(String.join(",", properties)));
+
+        // Then
+        assertThat(selected).isEqualTo(json);
+    }
+
+    private JsonNode serialise(Object value, RecipeFields fields) throws Exception {
+        return objectMapper.readTree(objectMapper.writer(fields.filterProvider()).writeValueAsString(value));
+    }
+}
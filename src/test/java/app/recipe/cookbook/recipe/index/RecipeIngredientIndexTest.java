@@ -0,0 +1,132 @@
+package app.recipe.cookbook.recipe.index;
+
+import app.recipe.cookbook.common.config.PostgresContainerConfig;
+import app.recipe.cookbook.recipe.RecipeFixtures;
+import app.recipe.cookbook.recipe.cache.RecipeSearchCache;
+import app.recipe.cookbook.recipe.db.entity.Recipe;
+import app.recipe.cookbook.recipe.db.repository.RecipeRepository;
+import app.recipe.cookbook.recipe.dto.request.RecipeSearchCriteria;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(PostgresContainerConfig.class)
+@DisplayName("RecipeIngredientIndex Tests")
+class RecipeIngredientIndexTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final RecipeSearchCache recipeSearchCache =
+            new RecipeSearchCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    private RecipeFixtures fixtures;
+    private RecipeIngredientIndex index;
+    private UUID omelette;
+    private UUID salad;
+    private UUID carbonara;
+
+    @BeforeEach
+    void setUp() {
+        fixtures = new RecipeFixtures(entityManager);
+        omelette = fixtures.persistRecipe("Omelette", "Egg", "Butter", "Cherry tomato");
+        salad = fixtures.persistRecipe("Salad", "Tomato", "Basil", "Olive oil");
+        carbonara = fixtures.persistRecipe("Carbonara", "Egg", "Bacon", "Pasta");
+        flushAndRefreshSearchColumns(omelette, salad, carbonara);
+
+        index = new RecipeIngredientIndex(jdbcTemplate, recipeSearchCache, true, 100);
+        index.build();
+    }
+
+    @Test
+    @DisplayName("Should intersect include terms, each expanded to every ingredient containing it")
+    void shouldIntersectIncludeTerms() {
+        // When / Then
+        assertThat(index.findCandidates(List.of("tomato"), List.of())).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactlyInAnyOrder(omelette, salad));
+        assertThat(index.findCandidates(List.of("tomato", "egg"), List.of())).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(omelette));
+        assertThat(index.findCandidates(List.of("egg", "saffron"), List.of())).hasValueSatisfying(ids ->
+                assertThat(ids).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should subtract recipes having any excluded ingredient")
+    void shouldSubtractExcludeTerms() {
+        // When / Then
+        assertThat(index.findCandidates(List.of(), List.of("bac", "butt"))).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(salad));
+        assertThat(index.findCandidates(List.of("egg"), List.of("saffron"))).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactlyInAnyOrder(omelette, carbonara));
+    }
+
+    @Test
+    @DisplayName("Should leave the filters to the database when too many recipes match")
+    void shouldGiveUpAboveMaxCandidates() {
+        // Given
+        RecipeIngredientIndex smallIndex = new RecipeIngredientIndex(jdbcTemplate, recipeSearchCache, true, 1);
+        smallIndex.build();
+
+        // When / Then
+        assertThat(smallIndex.findCandidates(List.of("egg"), List.of())).isEmpty();
+        assertThat(smallIndex.findCandidates(List.of("basil"), List.of())).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(salad));
+    }
+
+    @Test
+    @DisplayName("Should follow created and deleted recipes once their transaction commits, then make cached searches stale")
+    void shouldFollowWritesAfterCommit() {
+        // Given
+        RecipeSearchCriteria criteria = RecipeSearchCriteria.builder().includeIngredients(List.of("egg")).build();
+        RecipeSearchCache.Key keyBefore = recipeSearchCache.keyOf(criteria);
+        UUID frittata = fixtures.persistRecipe("Frittata", "Egg", "Spinach");
+        flushAndRefreshSearchColumns(frittata);
+        entityManager.remove(entityManager.find(Recipe.class, carbonara));
+        entityManager.flush();
+
+        index.refreshAfterCommit(List.of(frittata, carbonara));
+        assertThat(index.findCandidates(List.of("egg"), List.of())).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactlyInAnyOrder(omelette, carbonara));
+        assertThat(recipeSearchCache.keyOf(criteria)).isEqualTo(keyBefore);
+
+        // When
+        TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+
+        // Then
+        assertThat(index.findCandidates(List.of("egg"), List.of())).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactlyInAnyOrder(omelette, frittata));
+        assertThat(index.findCandidates(List.of("spinach"), List.of())).hasValueSatisfying(ids ->
+                assertThat(ids).containsExactly(frittata));
+        assertThat(recipeSearchCache.keyOf(criteria).generation()).isEqualTo(keyBefore.generation() + 1);
+    }
+
+    private void flushAndRefreshSearchColumns(UUID... recipeIds) {
+        entityManager.flush();
+        recipeRepository.refreshSearchColumnsFor(recipeIds);
+        entityManager.clear();
+    }
+}
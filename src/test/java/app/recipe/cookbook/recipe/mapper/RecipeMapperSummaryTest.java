@@ -0,0 +1,52 @@
+package app.recipe.cookbook.recipe.mapper;
+
+import app.recipe.cookbook.recipe.db.projection.RecipeSummaryView;
+import app.recipe.cookbook.recipe.dto.domain.RecipeSummaryDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Summary mapping needs none of the child mapper stubs of {@link RecipeMapperTest}.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RecipeMapper summary Tests")
+class RecipeMapperSummaryTest {
+
+    @Mock
+    private IngredientMapper ingredientMapper;
+
+    @Mock
+    private InstructionMapper instructionMapper;
+
+    @InjectMocks
+    private RecipeMapper recipeMapper;
+
+    @Test
+    @DisplayName("Should map a summary projection, treating an unknown vegetarian flag as non-vegetarian")
+    void shouldMapSummary() {
+        // Given
+        UUID recipeId = UUID.randomUUID();
+        RecipeSummaryView summary = mock(RecipeSummaryView.class);
+        when(summary.getId()).thenReturn(recipeId);
+        when(summary.getTitle()).thenReturn("Test Recipe");
+        when(summary.getServings()).thenReturn(4);
+        when(summary.getIsVegetarian()).thenReturn(null);
+        when(summary.getIngredientCount()).thenReturn(3);
+
+        // When
+        RecipeSummaryDto result = recipeMapper.toSummaryDto(summary);
+
+        // Then
+        assertThat(result).isEqualTo(new RecipeSummaryDto(recipeId, "Test Recipe", 4, false, 3));
+    }
+}